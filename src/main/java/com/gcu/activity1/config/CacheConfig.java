@@ -0,0 +1,36 @@
+package com.gcu.activity1.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Cache sizes and expiry are configured through spring.cache.* in application.properties.
+// Class proxies because the controllers inject the data services by their concrete type.
+@Configuration
+@EnableCaching(proxyTargetClass = true)
+public class CacheConfig {
+
+    public static final String ORDERS_CACHE = "orders";
+    public static final String ORDER_NUMBERS_CACHE = "orderNumbers";
+    public static final String ORDER_STATS_CACHE = "orderStats";
+    public static final String USERS_CACHE = "users";
+
+    // user lookups get their own, shorter-lived spec so out-of-band changes are picked up quickly
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> usersCacheCustomizer(
+            @Value("${users.cache.spec:maximumSize=10000,expireAfterWrite=5m,recordStats}") String spec) {
+        return cacheManager -> cacheManager.registerCustomCache(USERS_CACHE, Caffeine.from(spec).build());
+    }
+
+    // the stats page only needs to be roughly current; a short expiry bounds the staleness
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> orderStatsCacheCustomizer(
+            @Value("${orders.stats.cache.spec:maximumSize=100,expireAfterWrite=30s,recordStats}") String spec) {
+        return cacheManager -> cacheManager.registerCustomCache(ORDER_STATS_CACHE, Caffeine.from(spec).build());
+    }
+}
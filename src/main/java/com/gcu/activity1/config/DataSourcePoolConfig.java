@@ -0,0 +1,67 @@
+package com.gcu.activity1.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Sizes the Hikari pool unless spring.datasource.hikari.maximum-pool-size is set explicitly.
+// HikariCP's rule of thumb is database cores * 2 + 1; more connections than that only queue inside the
+// database. It is capped by the expected concurrency (by default the Tomcat worker count), since more
+// connections than requests that can ask for one are never used. The pool is fixed-size
+// (minimum-idle = maximum) so a burst does not pay for opening connections.
+@Configuration
+public class DataSourcePoolConfig {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DataSourcePoolConfig.class);
+
+    // a streamed /orders listing holds its connection for the whole response
+    static final int MIN_POOL_SIZE = 4;
+
+    // static: post-processors are created before the other beans in this class.
+    // Runs before initialization, i.e. after the spring.datasource.hikari.* binding and before the pool starts.
+    @Bean
+    public static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    sizePool(hikari, environment);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static void sizePool(HikariDataSource hikari, Environment environment) {
+        Binder binder = Binder.get(environment);
+        if (binder.bind("spring.datasource.hikari.maximum-pool-size", Integer.class).isBound()) {
+            return;
+        }
+        int databaseCores = binder.bind("orders.datasource.database-cores", Integer.class).orElse(0);
+        int expectedConcurrency = binder.bind("orders.datasource.expected-concurrency", Integer.class).orElse(0);
+        if (databaseCores <= 0) {
+            databaseCores = Runtime.getRuntime().availableProcessors();
+        }
+        if (expectedConcurrency <= 0) {
+            expectedConcurrency = binder.bind("server.tomcat.threads.max", Integer.class).orElse(200);
+        }
+
+        int size = poolSize(databaseCores, expectedConcurrency);
+        hikari.setMaximumPoolSize(size);
+        if (!binder.bind("spring.datasource.hikari.minimum-idle", Integer.class).isBound()) {
+            hikari.setMinimumIdle(size);
+        }
+        LOG.info("Connection pool {} sized to {} ({} database cores, expected concurrency {})",
+                hikari.getPoolName(), size, databaseCores, expectedConcurrency);
+    }
+
+    static int poolSize(int databaseCores, int expectedConcurrency) {
+        return Math.max(MIN_POOL_SIZE, Math.min(databaseCores * 2 + 1, expectedConcurrency));
+    }
+}
@@ -0,0 +1,16 @@
+package com.gcu.activity1.config;
+
+// thrown when the password hashing pool is saturated; mapped to 503 + Retry-After
+public class HashingUnavailableException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public HashingUnavailableException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,54 @@
+package com.gcu.activity1.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.jdbc.core.convert.JdbcCustomConversions;
+import org.springframework.data.jdbc.core.dialect.JdbcDialect;
+
+import com.gcu.activity1.models.Money;
+
+// The application's own Spring Data JDBC converters. Only the conversions bean is declared, which
+// Spring Boot's Data JDBC auto-configuration picks up in place of its default while still setting up
+// everything else; the repository test and benchmark configurations import this class next to it.
+@Configuration
+public class JdbcConfig {
+
+    // the dialect's own converters stay in, as in the default this replaces
+    @Bean
+    public JdbcCustomConversions jdbcCustomConversions(JdbcDialect dialect) {
+        return JdbcCustomConversions.of(dialect, List.of(MoneyToMinorUnits.INSTANCE, MinorUnitsToMoney.INSTANCE));
+    }
+
+    // money columns (PRICE_MINOR) hold a BIGINT count of minor units in Money.DEFAULT_CURRENCY
+    public static long toMinorUnits(Money money) {
+        if (!Money.DEFAULT_CURRENCY.equals(money.currency())) {
+            throw new IllegalArgumentException("Orders are stored in " + Money.DEFAULT_CURRENCY + ", not " + money.currency());
+        }
+        return money.minorUnits();
+    }
+
+    @WritingConverter
+    enum MoneyToMinorUnits implements Converter<Money, Long> {
+        INSTANCE;
+
+        @Override
+        public Long convert(Money money) {
+            return toMinorUnits(money);
+        }
+    }
+
+    @ReadingConverter
+    enum MinorUnitsToMoney implements Converter<Long, Money> {
+        INSTANCE;
+
+        @Override
+        public Money convert(Long minorUnits) {
+            return Money.ofMinor(minorUnits);
+        }
+    }
+}
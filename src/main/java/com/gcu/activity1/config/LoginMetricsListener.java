@@ -0,0 +1,33 @@
+package com.gcu.activity1.config;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.authentication.event.InteractiveAuthenticationSuccessEvent;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Counts logins from Spring Security's authentication events as security.logins, tagged with
+// outcome (success/failure) and, for failures, the reason (e.g. BadCredentials, Disabled).
+// Only the login form counts: a success is its interactive event, and the actuator's HTTP Basic
+// checks (every Prometheus scrape) publish no events at all (SecurityConfig).
+@Component
+public class LoginMetricsListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public LoginMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    public void onSuccess(InteractiveAuthenticationSuccessEvent event) {
+        meterRegistry.counter("security.logins", "outcome", "success", "reason", "none").increment();
+    }
+
+    @EventListener
+    public void onFailure(AbstractAuthenticationFailureEvent event) {
+        String reason = event.getException().getClass().getSimpleName().replace("Exception", "");
+        meterRegistry.counter("security.logins", "outcome", "failure", "reason", reason).increment();
+    }
+}
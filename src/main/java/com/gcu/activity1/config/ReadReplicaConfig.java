@@ -0,0 +1,71 @@
+package com.gcu.activity1.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Read/write split, switched on by orders.datasource.replica.url.
+// spring.datasource.* stays the primary; the replica gets its own pool with the same spring.datasource.hikari.*
+// settings. The DataSource everything else uses (repositories, JdbcTemplate, the transaction manager)
+// routes read-only transactions to the replica and all other work to the primary.
+@Configuration
+@ConditionalOnProperty(name = "orders.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    public DataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        return primary;
+    }
+
+    @Bean
+    public DataSource replicaDataSource(DataSourceProperties properties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(binder.bind("orders.datasource.replica.url", String.class).get())
+                .username(binder.bind("orders.datasource.replica.username", String.class)
+                        .orElse(properties.determineUsername()))
+                .password(binder.bind("orders.datasource.replica.password", String.class)
+                        .orElse(properties.determinePassword()))
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+        // pool names must differ or the two pools' metrics collide
+        replica.setPoolName(replica.getPoolName() == null ? "replica-pool" : replica.getPoolName() + "-replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica));
+    }
+
+    // ahead of Spring Security's filter chain (order -100) so the login lookup after a registration is pinned too
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${orders.datasource.replica.read-your-writes-ms:5000}") long windowMillis) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(windowMillis));
+        registration.setOrder(-110);
+        return registration;
+    }
+}
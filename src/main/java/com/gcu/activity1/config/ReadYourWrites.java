@@ -0,0 +1,47 @@
+package com.gcu.activity1.config;
+
+// Per-request routing state for ReplicaRoutingDataSource, bound to the request thread by ReadYourWritesFilter.
+// Once the request (or the session, within the read-your-writes window) has written, read-only
+// transactions stay on the primary so they cannot miss a write the replica has not applied yet.
+// Outside a request, e.g. in tests or startup code, nothing is pinned and writes are not tracked.
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void begin(boolean pinned) {
+        State state = new State();
+        state.pinned = pinned;
+        STATE.set(state);
+    }
+
+    public static void end() {
+        STATE.remove();
+    }
+
+    public static boolean isPinned() {
+        State state = STATE.get();
+        return state != null && state.pinned;
+    }
+
+    public static boolean hasWritten() {
+        State state = STATE.get();
+        return state != null && state.written;
+    }
+
+    // the rest of the request reads from the primary as well
+    public static void markWrite() {
+        State state = STATE.get();
+        if (state != null) {
+            state.written = true;
+            state.pinned = true;
+        }
+    }
+
+    private static final class State {
+        private boolean pinned;
+        private boolean written;
+    }
+}
@@ -0,0 +1,51 @@
+package com.gcu.activity1.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+// Remembers in the session when it last wrote, and pins its reads to the primary for
+// orders.datasource.replica.read-your-writes-ms afterwards (e.g. the redirect to /orders after a create,
+// or the first login after registering). Other sessions keep reading from the replica.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String LAST_WRITE_ATTRIBUTE = ReadYourWritesFilter.class.getName() + ".LAST_WRITE";
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReadYourWrites.begin(recentlyWrote(request.getSession(false)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (ReadYourWrites.hasWritten()) {
+                // a redirect has already committed the response, so only an existing session can be used then
+                HttpSession session = request.getSession(!response.isCommitted());
+                if (session != null) {
+                    session.setAttribute(LAST_WRITE_ATTRIBUTE, System.currentTimeMillis());
+                }
+            }
+            ReadYourWrites.end();
+        }
+    }
+
+    private boolean recentlyWrote(HttpSession session) {
+        if (session == null) {
+            return false;
+        }
+        Object lastWrite = session.getAttribute(LAST_WRITE_ATTRIBUTE);
+        return lastWrite instanceof Long at && System.currentTimeMillis() - at < windowMillis;
+    }
+}
@@ -0,0 +1,35 @@
+package com.gcu.activity1.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Sends read-only transactions to the replica and everything else to the primary.
+// Must sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for a connection
+// before it marks the transaction read-only, so the choice has to wait until the first statement.
+// Statements outside a transaction (the streamed listings) stay on the primary.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return ReadYourWrites.isPinned() ? PRIMARY : REPLICA;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            ReadYourWrites.markWrite();
+        }
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,47 @@
+package com.gcu.activity1.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+// The Prometheus scraper's own HTTP Basic account (security.scrape.*). Its token is compared in constant time
+// rather than through BCrypt, so a scrape every few seconds costs no hash and never takes a slot in the
+// hashing pool that logins wait on. It may only read /actuator/prometheus (ROLE_METRICS).
+public class ScrapeTokenAuthenticationProvider implements AuthenticationProvider {
+
+    public static final String ROLE = "METRICS";
+
+    private final String username;
+    private final byte[] token;
+
+    // a blank token turns the account off; the scraper then needs an admin login like before
+    public ScrapeTokenAuthenticationProvider(String username, String token) {
+        this.username = username;
+        this.token = token == null ? new byte[0] : token.strip().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        if (token.length == 0 || !username.equals(authentication.getName())) {
+            // not the scraper: left to the user accounts
+            return null;
+        }
+        Object credentials = authentication.getCredentials();
+        byte[] given = credentials == null ? new byte[0] : credentials.toString().getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(token, given)) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        return UsernamePasswordAuthenticationToken.authenticated(username, null,
+                AuthorityUtils.createAuthorityList("ROLE_" + ROLE));
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+}
@@ -1,30 +1,74 @@
 package com.gcu.activity1.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // BCrypt(12) hashing runs on its own bounded pool; 0 for pool-size means half the cores
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${security.hashing.pool-size:0}") int poolSize,
+            @Value("${security.hashing.queue-capacity:16}") int queueCapacity,
+            @Value("${security.hashing.timeout-ms:5000}") long timeoutMillis,
+            MeterRegistry meterRegistry) {
+        if (poolSize <= 0) {
+            poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(12), poolSize, queueCapacity, timeoutMillis,
+                meterRegistry);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService) {
+    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
+
+    // Actuator: health stays open for load balancers; prometheus needs the scrape account or an admin,
+    // the rest an admin. HTTP Basic so a Prometheus scraper can authenticate without the login form.
+    // Stateless, so every scrape authenticates again: its own manager publishes no authentication events,
+    // which keeps scrapes out of security.logins (LoginMetricsListener)
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http,
+            DaoAuthenticationProvider authenticationProvider,
+            @Value("${security.scrape.username:prometheus}") String scrapeUsername,
+            @Value("${security.scrape.token:}") String scrapeToken) throws Exception {
+        http
+            .securityMatcher("/actuator/**")
+            .authenticationManager(new ProviderManager(
+                    new ScrapeTokenAuthenticationProvider(scrapeUsername, scrapeToken), authenticationProvider))
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/prometheus").hasAnyRole("ADMIN", ScrapeTokenAuthenticationProvider.ROLE)
+                .anyRequest().hasRole("ADMIN")
+            )
+            .httpBasic(Customizer.withDefaults())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .csrf(csrf -> csrf.disable());
+
+        return http.build();
+    }
+
     // Add filter chain
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider) throws Exception {
@@ -32,10 +76,14 @@ public class SecurityConfig {
             .authenticationProvider(authenticationProvider)
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/", "/login", "/register").permitAll()
+                // error dispatches (e.g. the actuator's 401) must not be turned into a login redirect
+                .requestMatchers("/error").permitAll()
                 .requestMatchers("/css/**", "/js/**", "/images/**").permitAll()
                 .requestMatchers("/admin/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
+            // the import endpoint only accepts CSV/JSON bodies, which a cross-site form cannot send
+            .csrf(csrf -> csrf.ignoringRequestMatchers("/orders/import"))
             .formLogin(form -> form
                 .loginPage("/login")
                 .loginProcessingUrl("/processLogin")
@@ -0,0 +1,112 @@
+package com.gcu.activity1.config;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.gcu.activity1.models.SlowQueryModel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Receives every statement timed by TracingDataSource.
+// Fast statements cost one comparison (plus a debug line when com.gcu.activity1.sql is at DEBUG);
+// statements over the threshold are logged and kept in a fixed-size ring buffer for /admin/sql.
+@Component
+public class SlowQueryLog {
+
+    private static final Logger TRACE = LoggerFactory.getLogger("com.gcu.activity1.sql");
+    private static final Logger SLOW = LoggerFactory.getLogger("com.gcu.activity1.sql.slow");
+
+    // long IN lists and generated SQL are cut here so the buffer stays small
+    private static final int MAX_SQL_LENGTH = 2000;
+
+    private final long thresholdNanos;
+    private final SlowQueryModel[] buffer;
+    private final Counter slowCounter;
+
+    // next slot to overwrite and number of entries held; guarded by this
+    private int next;
+    private int size;
+
+    public SlowQueryLog(@Value("${sql.slow-query.threshold-ms:200}") long thresholdMillis,
+            @Value("${sql.slow-query.capacity:100}") int capacity, MeterRegistry meterRegistry) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("sql.slow-query.capacity must be at least 1");
+        }
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.buffer = new SlowQueryModel[capacity];
+        this.slowCounter = Counter.builder("sql.slow.queries")
+                .description("Statements slower than sql.slow-query.threshold-ms")
+                .register(meterRegistry);
+    }
+
+    // rows is -1 and error is set when the statement threw
+    public void record(String sql, int bindCount, long rows, int batchSize, long elapsedNanos, String error) {
+        if (elapsedNanos < thresholdNanos) {
+            if (TRACE.isDebugEnabled()) {
+                TRACE.debug("{} ms, {} binds, {} rows{}: {}", millis(elapsedNanos), bindCount, rows,
+                        batchSize > 0 ? ", batch " + batchSize : "", sql);
+            }
+            return;
+        }
+        slowCounter.increment();
+        SLOW.warn("{} ms, {} binds, {} rows{}: {}", millis(elapsedNanos), bindCount, rows,
+                batchSize > 0 ? ", batch " + batchSize : "", sql);
+
+        SlowQueryModel entry = new SlowQueryModel(Instant.now(), Thread.currentThread().getName(), truncate(sql),
+                bindCount, rows, batchSize, millis(elapsedNanos), error);
+        synchronized (this) {
+            buffer[next] = entry;
+            next = (next + 1) % buffer.length;
+            if (size < buffer.length) {
+                size++;
+            }
+        }
+    }
+
+    // newest first
+    public synchronized List<SlowQueryModel> getRecent() {
+        List<SlowQueryModel> recent = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            recent.add(buffer[(next - i + buffer.length) % buffer.length]);
+        }
+        return recent;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(buffer, null);
+        next = 0;
+        size = 0;
+    }
+
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    public int getCapacity() {
+        return buffer.length;
+    }
+
+    public long getTotalSlow() {
+        return (long) slowCounter.count();
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static String truncate(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        return sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,34 @@
+package com.gcu.activity1.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// Wraps the application DataSource in a TracingDataSource so every statement reaches the SlowQueryLog.
+// sql.trace.enabled=false leaves the pool unwrapped.
+@Configuration
+@ConditionalOnProperty(name = "sql.trace.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTracingConfig {
+
+    // static: post-processors are created before the other beans in this class
+    @Bean
+    public static BeanPostProcessor tracingDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // only the pools themselves; routing and lazy proxies in front of them are already covered
+                if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                        && !(bean instanceof AbstractRoutingDataSource)) {
+                    return new TracingDataSource(dataSource, slowQueryLog.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,258 @@
+package com.gcu.activity1.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Times every statement issued through the pool (repositories, JdbcTemplate, the streaming listing)
+// and hands statement text, bind count, rows and duration to the SlowQueryLog.
+// Connections, statements and result sets are JDK proxies; everything except execute*, next() and close()
+// is passed straight through. A query's time covers execution plus the next() calls that fetch its rows,
+// so a streamed listing is not charged for the time the view spends rendering between rows.
+public class TracingDataSource extends DelegatingDataSource {
+
+    private static final ClassLoader CLASS_LOADER = TracingDataSource.class.getClassLoader();
+
+    private final SlowQueryLog slowQueryLog;
+
+    public TracingDataSource(DataSource target, SlowQueryLog slowQueryLog) {
+        super(target);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    // the container's inferred destroy method ends up here, so the wrapped pool is still closed on shutdown
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[] { Connection.class },
+                new ConnectionHandler(connection));
+    }
+
+    private static Object proceed(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // proxies compare by identity so Spring's connection holders still recognise them
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        if (method.getName().equals("equals") && args != null && args.length == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && (args == null || args.length == 0)) {
+            return System.identityHashCode(proxy);
+        }
+        return null;
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object same = identity(proxy, method, args);
+            if (same != null) {
+                return same;
+            }
+            Object result = proceed(target, method, args);
+            String name = method.getName();
+            // prepareStatement/prepareCall carry the SQL; createStatement gets it on execute
+            if (result instanceof Statement statement
+                    && (name.equals("prepareStatement") || name.equals("prepareCall") || name.equals("createStatement"))) {
+                String sql = name.equals("createStatement") ? null : (String) args[0];
+                return Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[] { method.getReturnType() },
+                        new StatementHandler(statement, (Connection) proxy, sql));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final Connection connection;
+        private final String sql;
+        // highest parameter index set, i.e. binds per execution
+        private int bindCount;
+        private int batchSize;
+        // query result still being read, finished on close if the caller never exhausts it
+        private ResultSetHandler open;
+        // execute() that returned a result set: timing waits for getResultSet()
+        private String pendingSql;
+        private long pendingNanos;
+
+        StatementHandler(Statement target, Connection connection, String sql) {
+            this.target = target;
+            this.connection = connection;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object same = identity(proxy, method, args);
+            if (same != null) {
+                return same;
+            }
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bindCount = Math.max(bindCount, index);
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            } else if (name.equals("getConnection")) {
+                return connection;
+            } else if (name.equals("close")) {
+                finishOpen();
+            } else if (name.equals("getResultSet") && pendingSql != null) {
+                ResultSet resultSet = (ResultSet) proceed(target, method, args);
+                String executed = pendingSql;
+                pendingSql = null;
+                return resultSet == null ? null : wrapResultSet(resultSet, executed, pendingNanos);
+            }
+            return proceed(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            int batch = batchSize;
+            finishOpen();
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = proceed(target, method, args);
+            } catch (Throwable e) {
+                batchSize = 0;
+                slowQueryLog.record(executed, bindCount, -1, batch, System.nanoTime() - start, e.toString());
+                throw e;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            if (result instanceof ResultSet resultSet) {
+                return wrapResultSet(resultSet, executed, elapsed);
+            }
+            if (result instanceof int[] counts) {
+                batchSize = 0;
+                slowQueryLog.record(executed, bindCount, sum(counts), batch, elapsed, null);
+            } else if (result instanceof long[] counts) {
+                batchSize = 0;
+                slowQueryLog.record(executed, bindCount, sum(counts), batch, elapsed, null);
+            } else if (result instanceof Number count) {
+                slowQueryLog.record(executed, bindCount, count.longValue(), 0, elapsed, null);
+            } else if (Boolean.TRUE.equals(result)) {
+                pendingSql = executed;
+                pendingNanos = elapsed;
+            } else {
+                slowQueryLog.record(executed, bindCount, target.getUpdateCount(), 0, elapsed, null);
+            }
+            return result;
+        }
+
+        private ResultSet wrapResultSet(ResultSet resultSet, String executed, long elapsed) {
+            open = new ResultSetHandler(resultSet, executed, bindCount, elapsed);
+            return (ResultSet) Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[] { ResultSet.class }, open);
+        }
+
+        private void finishOpen() {
+            if (open != null) {
+                open.finish();
+                open = null;
+            }
+        }
+
+        private long sum(int[] counts) {
+            long rows = 0;
+            for (int count : counts) {
+                // SUCCESS_NO_INFO (-2) from drivers that do not report per-statement counts
+                rows += Math.max(0, count);
+            }
+            return rows;
+        }
+
+        private long sum(long[] counts) {
+            long rows = 0;
+            for (long count : counts) {
+                rows += Math.max(0, count);
+            }
+            return rows;
+        }
+    }
+
+    private class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final String sql;
+        private final int bindCount;
+        private long elapsedNanos;
+        private long rows;
+        private boolean finished;
+
+        ResultSetHandler(ResultSet target, String sql, int bindCount, long elapsedNanos) {
+            this.target = target;
+            this.sql = sql;
+            this.bindCount = bindCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object same = identity(proxy, method, args);
+            if (same != null) {
+                return same;
+            }
+            String name = method.getName();
+            if (name.equals("next")) {
+                long start = System.nanoTime();
+                Object more = proceed(target, method, args);
+                elapsedNanos += System.nanoTime() - start;
+                if (Boolean.TRUE.equals(more)) {
+                    rows++;
+                } else {
+                    finish();
+                }
+                return more;
+            }
+            if (name.equals("close")) {
+                finish();
+            }
+            return proceed(target, method, args);
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                slowQueryLog.record(sql, bindCount, rows, 0, elapsedNanos, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.gcu.activity1.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// spring.threads.virtual.enabled is silently ignored before Java 21, which would leave the
+// "virtual-threads" profile running on platform threads with its smaller pool settings.
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+
+    public VirtualThreadsConfig() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < 21) {
+            throw new IllegalStateException(
+                    "The virtual-threads profile needs Java 21 or later, but this is Java " + javaVersion);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.gcu.activity1.controllers;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import com.gcu.activity1.config.HashingUnavailableException;
+
+@ControllerAdvice
+public class GlobalExceptionHandler {
+
+    // saturated hashing pool: answer right away and tell the client when to retry
+    @ExceptionHandler(HashingUnavailableException.class)
+    public ResponseEntity<String> handleHashingUnavailable(HashingUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("The server is busy, please try again in a few seconds.");
+    }
+
+    // a concurrent edit that no controller turned into a form error
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("This record was changed by someone else since you loaded it. Reload it and try again.");
+    }
+}
@@ -1,37 +1,127 @@
 package com.gcu.activity1.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import com.gcu.activity1.data.OrderExportService;
+import com.gcu.activity1.data.OrderImportService;
+import com.gcu.activity1.data.OrderStatsService;
 import com.gcu.activity1.data.OrdersDataService;
+import com.gcu.activity1.models.ImportResult;
+import com.gcu.activity1.models.Mapper;
 import com.gcu.activity1.models.OrderModel;
+import com.gcu.activity1.models.OrderSearchModel;
+import com.gcu.activity1.models.OrderStatsModel;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 
 @Controller
 @RequestMapping("/orders")
 public class OrdersController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_BUFFER_SIZE = 16 * 1024;
+    private static final int DEFAULT_TOP_PRODUCTS = 10;
+    private static final int MAX_TOP_PRODUCTS = 100;
+
     // add a data member for the repository using dependency injection
     @Autowired
     private OrdersDataService ordersDataService;
 
+    @Autowired
+    private OrderImportService orderImportService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderStatsService orderStatsService;
+
+    private SpringValidatorAdapter orderValidator;
+
+    private static final Set<String> FIRST_LINE_COPIES = Set.of("product_name", "price", "quantity");
+
     // use constructor injection to inject the repository
-    public OrdersController(OrdersDataService ordersDataService) {
+    public OrdersController(OrdersDataService ordersDataService, Validator validator) {
         this.ordersDataService = ordersDataService;
+        this.orderValidator = new SpringValidatorAdapter(validator);
     }
 
     // now the methods to handle the request endpoints...
 
+    // one page of orders; "after" is the last id of the previous page (keyset cursor)
     @GetMapping("")
-    public String showAllOrders(Model model) {
-        model.addAttribute("orders", ordersDataService.getAll());
+    public String showAllOrders(
+            @RequestParam(value = "after", defaultValue = "0") int after,
+            @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            HttpServletRequest request, Model model) {
+        int pageSize = pageSize(size);
+        addPage(model, request, ordersDataService.getPage(after, pageSize), after, pageSize);
+        model.addAttribute("search", new OrderSearchModel());
+        model.addAttribute("title", "All Orders");
+        return "allOrders";
+    }
+
+    // filtered, keyset-paged search; every filter is optional
+    @GetMapping("/search")
+    public String searchOrders(@ModelAttribute("search") OrderSearchModel search,
+            @RequestParam(value = "after", defaultValue = "0") int after,
+            @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            HttpServletRequest request, Model model) {
+        int pageSize = pageSize(size);
+        addPage(model, request, ordersDataService.search(search, after, pageSize), after, pageSize);
+        model.addAttribute("title", "Search Orders");
+        return "allOrders";
+    }
+
+    // every order, rendered straight off a database cursor and flushed to the client in chunks;
+    // any other value of stream (or none) gets the paged list
+    @GetMapping(value = "", params = "stream=true")
+    public String streamAllOrders(HttpServletResponse response, Model model) {
+        Stream<OrderModel> orders = ordersDataService.streamAll();
+        // the cursor has to stay open while the view renders, so release it when the request completes
+        RequestContextHolder.currentRequestAttributes().registerDestructionCallback(
+                "ordersStream", orders::close, RequestAttributes.SCOPE_REQUEST);
+        // the template writes as it iterates; each time this buffer fills it is flushed as a chunk
+        response.setBufferSize(STREAM_BUFFER_SIZE);
+
+        Iterable<OrderModel> rows = orders::iterator;
+        model.addAttribute("orders", rows);
+        model.addAttribute("streaming", true);
         model.addAttribute("title", "All Orders");
         return "allOrders";
     }
@@ -44,6 +134,36 @@ public class OrdersController {
         return "oneOrder";
     }
 
+    // revenue, counts, percentiles and top products, aggregated by the database
+    @GetMapping("/stats")
+    public String showStats(@RequestParam(value = "top", defaultValue = "" + DEFAULT_TOP_PRODUCTS) int top,
+            Model model) {
+        model.addAttribute("stats", orderStatsService.getStats(topProducts(top)));
+        model.addAttribute("title", "Order Statistics");
+        return "orderStats";
+    }
+
+    @GetMapping("/stats/summary")
+    @ResponseBody
+    public OrderStatsModel getStatsSummary(
+            @RequestParam(value = "top", defaultValue = "" + DEFAULT_TOP_PRODUCTS) int top) {
+        return orderStatsService.getStats(topProducts(top));
+    }
+
+    // get one item by its business key, for integrations that only know the order number
+    @GetMapping("/byNumber/{orderNumber}")
+    public String showOrderByNumber(@PathVariable("orderNumber") String orderNumber, Model model) {
+        model.addAttribute("order", findByNumber(orderNumber));
+        model.addAttribute("title", "One Order");
+        return "oneOrder";
+    }
+
+    @GetMapping(value = "/byNumber/{orderNumber}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public OrderModel getOrderByNumber(@PathVariable("orderNumber") String orderNumber) {
+        return findByNumber(orderNumber);
+    }
+
     // show edit form
     @GetMapping("/editOrder/{id}")
     public String editOrder(@PathVariable("id") int id, Model model) {
@@ -53,8 +173,44 @@ public class OrdersController {
     }
 
     @PostMapping("/processEditOrder")
-    public String doUpdate(OrderModel orderModel, BindingResult br, Model model) {
-        ordersDataService.update(orderModel);
+    public String doUpdate(@ModelAttribute("order") OrderModel orderModel, BindingResult br, Model model,
+            HttpServletResponse response) {
+        // the form always posts one spare row for a new line; a line left without a product is removed.
+        // Only then is the order validated (what @Valid would do, but @Valid runs before this method
+        // and would reject the spare row), lines included
+        orderModel.getLines().removeIf(line -> isBlank(line.getProduct_name()));
+        if (orderModel.getLines().isEmpty() && isBlank(orderModel.getProduct_name())) {
+            br.reject("noLines", "An order needs at least one line");
+        }
+        Mapper.copyFirstLine(orderModel);
+        validateOrder(orderModel, br);
+        if (br.hasErrors()) {
+            // e.g. a price that is not a valid amount or a line with quantity 0: nothing is saved
+            model.addAttribute("title", "Edit Order");
+            return "editOrder";
+        }
+        try {
+            ordersDataService.update(orderModel);
+        } catch (DuplicateKeyException e) {
+            rejectDuplicateOrderNumber(br);
+            model.addAttribute("title", "Edit Order");
+            return "editOrder";
+        } catch (OptimisticLockingFailureException e) {
+            // 409 with the submitted values kept and the current ones shown next to them;
+            // the form now carries the current version, so saving again overwrites on purpose
+            response.setStatus(HttpServletResponse.SC_CONFLICT);
+            OrderModel current = ordersDataService.getById(orderModel.getId());
+            if (current == null) {
+                br.reject("deleted", "This order was deleted by someone else since you loaded it.");
+            } else {
+                br.reject("conflict", "This order was changed by someone else since you loaded it. "
+                        + "Check the current values below and save again to overwrite them.");
+                orderModel.setVersion(current.getVersion());
+                model.addAttribute("current", current);
+            }
+            model.addAttribute("title", "Edit Order");
+            return "editOrder";
+        }
         return "redirect:/orders";
     }
 
@@ -68,19 +224,120 @@ public class OrdersController {
 
     // process new
     @PostMapping("/processNewOrder")
-    public String processNewOrder(@Valid OrderModel orderModel, BindingResult br, Model model) {
+    public String processNewOrder(@Valid @ModelAttribute("order") OrderModel orderModel, BindingResult br, Model model) {
         if (br.hasErrors()) {
             model.addAttribute("title", "New Order");
             return "newOrder";
         }
-        ordersDataService.create(orderModel);
+        try {
+            ordersDataService.create(orderModel);
+        } catch (DuplicateKeyException e) {
+            rejectDuplicateOrderNumber(br);
+            model.addAttribute("title", "New Order");
+            return "newOrder";
+        }
         return "redirect:/orders";
     }
 
+    // bulk import, streamed from the request body; returns per-row errors and throughput
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @ResponseBody
+    public ImportResult importCsv(InputStream body) throws IOException {
+        return orderImportService.importCsv(body);
+    }
+
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @ResponseBody
+    public ImportResult importJson(InputStream body) {
+        return orderImportService.importJson(body);
+    }
+
+    // full table export as CSV or NDJSON, written while the rows are read
+    @GetMapping("/export")
+    public void exportOrders(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        response.setContentType(ndjson ? MediaType.APPLICATION_NDJSON_VALUE : "text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"orders." + (ndjson ? "ndjson" : "csv") + (gzip ? ".gz" : "") + "\"");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024) : response.getOutputStream();
+        if (ndjson) {
+            orderExportService.writeNdjson(out);
+        } else {
+            orderExportService.writeCsv(out);
+        }
+        out.close();
+    }
+
     // delete
     @GetMapping("/deleteOrder/{id}")
     public String deleteOrder(@PathVariable("id") int id, Model model) {
         ordersDataService.deleteById(id);
         return "redirect:/orders";
     }
+
+    private OrderModel findByNumber(String orderNumber) {
+        OrderModel order = ordersDataService.getByOrderNumber(orderNumber);
+        if (order == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No order with number " + orderNumber);
+        }
+        return order;
+    }
+
+    // ORDER_NUMBER is unique (UX_ORDERS_ORDER_NUMBER)
+    private static void rejectDuplicateOrderNumber(BindingResult br) {
+        br.rejectValue("order_number", "duplicate", "An order with this order number already exists");
+    }
+
+    // with lines, the order's product, price and quantity are a copy of the first line: an error on them
+    // is that line's error again, so only the line's own is kept
+    private void validateOrder(OrderModel orderModel, BindingResult br) {
+        BindingResult check = new BeanPropertyBindingResult(orderModel, br.getObjectName());
+        orderValidator.validate(orderModel, check);
+        for (ObjectError error : check.getAllErrors()) {
+            boolean mirrored = error instanceof FieldError fieldError && !orderModel.getLines().isEmpty()
+                    && FIRST_LINE_COPIES.contains(fieldError.getField());
+            if (!mirrored) {
+                br.addError(error);
+            }
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static int topProducts(int requested) {
+        return Math.max(1, Math.min(requested, MAX_TOP_PRODUCTS));
+    }
+
+    private static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    // paging links keep the current path and filters and only swap the cursor
+    private static void addPage(Model model, HttpServletRequest request, List<OrderModel> orders,
+            int after, int pageSize) {
+        model.addAttribute("orders", orders);
+        model.addAttribute("pageSize", pageSize);
+        model.addAttribute("after", after);
+
+        UriComponentsBuilder current = UriComponentsBuilder.fromPath(request.getRequestURI())
+                .query(request.getQueryString());
+        if (after > 0) {
+            model.addAttribute("firstPageUrl", current.cloneBuilder().replaceQueryParam("after").build(true).toUriString());
+        }
+        // a full page means there may be more rows after the last id
+        if (orders.size() == pageSize) {
+            int nextCursor = orders.get(orders.size() - 1).getId();
+            model.addAttribute("nextPageUrl",
+                    current.cloneBuilder().replaceQueryParam("after", nextCursor).build(true).toUriString());
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package com.gcu.activity1.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import com.gcu.activity1.config.SlowQueryLog;
+
+// Recent statements over sql.slow-query.threshold-ms, newest first (admin only via /admin/**)
+@Controller
+@RequestMapping("/admin/sql")
+public class SqlAdminController {
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    public SqlAdminController(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @GetMapping
+    public String showSlowQueries(Model model) {
+        model.addAttribute("queries", slowQueryLog.getRecent());
+        model.addAttribute("thresholdMillis", slowQueryLog.getThresholdMillis());
+        model.addAttribute("capacity", slowQueryLog.getCapacity());
+        model.addAttribute("totalSlow", slowQueryLog.getTotalSlow());
+        model.addAttribute("title", "Slow Queries");
+        return "admin/slowQueries";
+    }
+
+    @PostMapping("/clear")
+    public String clear() {
+        slowQueryLog.clear();
+        return "redirect:/admin/sql";
+    }
+}
@@ -1,21 +1,42 @@
 package com.gcu.activity1.controllers;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
+import com.gcu.activity1.data.UserListItem;
+import com.gcu.activity1.data.UserListRepositoryImpl;
 import com.gcu.activity1.data.UsersDataService;
+import com.gcu.activity1.models.UserFilterModel;
 import com.gcu.activity1.models.UserModel;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @Controller
 @RequestMapping("/admin/users")
 public class UserAdminController {
 
+    // the roles the bulk "change role" action may assign
+    private static final List<String> ROLES = List.of("ROLE_USER", "ROLE_ADMIN");
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private UsersDataService usersDataService;
 
@@ -23,10 +44,45 @@ public class UserAdminController {
         this.usersDataService = usersDataService;
     }
 
+    // keyset-paged, sortable by id or username, filtered by username prefix and role
     @GetMapping
-    public String listUsers(Model model) {
-        model.addAttribute("users", usersDataService.getAll());
+    public String listUsers(@ModelAttribute("filter") UserFilterModel filter,
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @RequestParam(value = "dir", defaultValue = "asc") String dir,
+            @RequestParam(value = "after", required = false) Integer after,
+            @RequestParam(value = "afterName", required = false) String afterName,
+            @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            HttpServletRequest request, Model model) {
+        boolean byUsername = UserListRepositoryImpl.SORT_USERNAME.equals(sort);
+        boolean descending = "desc".equals(dir);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<UserListItem> users = usersDataService.getSummaryPage(filter, byUsername ? sort : "id",
+                descending, afterName, after, pageSize);
+
+        model.addAttribute("users", users);
+        model.addAttribute("sort", byUsername ? sort : "id");
+        model.addAttribute("dir", descending ? "desc" : "asc");
+        model.addAttribute("roles", ROLES);
         model.addAttribute("title", "User Management");
+
+        // paging links keep the filter and sort and only swap the cursor
+        UriComponentsBuilder current = UriComponentsBuilder.fromPath(request.getRequestURI())
+                .query(request.getQueryString());
+        if (after != null) {
+            model.addAttribute("firstPageUrl", current.cloneBuilder()
+                    .replaceQueryParam("after").replaceQueryParam("afterName").build(true).toUriString());
+        }
+        // a full page means there may be more users after the last one
+        if (users.size() == pageSize) {
+            UserListItem last = users.get(users.size() - 1);
+            UriComponentsBuilder next = current.cloneBuilder()
+                    .replaceQueryParam("after", last.id())
+                    .replaceQueryParam("afterName");
+            if (byUsername) {
+                next.replaceQueryParam("afterName", UriUtils.encodeQueryParam(last.username(), StandardCharsets.UTF_8));
+            }
+            model.addAttribute("nextPageUrl", next.build(true).toUriString());
+        }
         return "admin/users";
     }
 
@@ -38,11 +94,85 @@ public class UserAdminController {
     }
 
     @PostMapping("/edit")
-    public String processEdit(UserModel user) {
-        usersDataService.update(user);
+    public String processEdit(@ModelAttribute("user") UserModel user, BindingResult br, Model model,
+            HttpServletResponse response) {
+        try {
+            usersDataService.update(user);
+        } catch (OptimisticLockingFailureException e) {
+            // same as an order edit: keep the admin's input, show the current values, carry the current version
+            response.setStatus(HttpServletResponse.SC_CONFLICT);
+            UserModel current = usersDataService.getById(user.getId());
+            if (current == null) {
+                br.reject("deleted", "This user was deleted by someone else since you loaded it.");
+            } else {
+                br.reject("conflict", "This user was changed by someone else since you loaded it. "
+                        + "Check the current values below and save again to overwrite them.");
+                user.setVersion(current.getVersion());
+                model.addAttribute("current", current);
+            }
+            model.addAttribute("title", "Edit User");
+            return "admin/editUser";
+        }
         return "redirect:/admin/users";
     }
 
+    // one set-based statement over the ticked users and/or the filter; the signed-in admin is always left out.
+    // Delete only shows how many users match and asks for confirmation; processBulkDelete runs it
+    @PostMapping("/bulk")
+    public String processBulk(@RequestParam String action,
+            @RequestParam(value = "ids", required = false) List<Integer> ids,
+            @ModelAttribute("filter") UserFilterModel filter,
+            @RequestParam(value = "newRole", required = false) String newRole,
+            Principal principal, RedirectAttributes redirectAttributes, Model model) {
+        String list = "redirect:" + listUrl(filter);
+        if (!selective(ids, filter)) {
+            redirectAttributes.addFlashAttribute("error", "Tick some users or enter a filter first.");
+            return list;
+        }
+
+        String self = principal.getName();
+        int changed;
+        switch (action) {
+            case "enable" -> changed = usersDataService.setEnabled(ids, filter, self, true);
+            case "disable" -> changed = usersDataService.setEnabled(ids, filter, self, false);
+            case "role" -> {
+                if (!ROLES.contains(newRole)) {
+                    redirectAttributes.addFlashAttribute("error", "Choose a role to assign.");
+                    return list;
+                }
+                changed = usersDataService.setRole(ids, filter, self, newRole);
+            }
+            case "delete" -> {
+                // counted with the same WHERE the DELETE will use
+                model.addAttribute("count", usersDataService.countMatching(ids, filter, self));
+                model.addAttribute("ids", ids == null ? List.of() : ids);
+                model.addAttribute("title", "Delete Users");
+                return "admin/bulkDeleteUsers";
+            }
+            default -> {
+                redirectAttributes.addFlashAttribute("error", "Unknown action: " + action);
+                return list;
+            }
+        }
+        redirectAttributes.addFlashAttribute("message", changed + (changed == 1 ? " user" : " users") + " updated.");
+        return list;
+    }
+
+    // the confirmed bulk delete, posted from admin/bulkDeleteUsers with the same ids and filter
+    @PostMapping("/bulk/delete")
+    public String processBulkDelete(@RequestParam(value = "ids", required = false) List<Integer> ids,
+            @ModelAttribute("filter") UserFilterModel filter,
+            Principal principal, RedirectAttributes redirectAttributes) {
+        String list = "redirect:" + listUrl(filter);
+        if (!selective(ids, filter)) {
+            redirectAttributes.addFlashAttribute("error", "Tick some users or enter a filter first.");
+            return list;
+        }
+        int deleted = usersDataService.deleteMatching(ids, filter, principal.getName());
+        redirectAttributes.addFlashAttribute("message", deleted + (deleted == 1 ? " user" : " users") + " deleted.");
+        return list;
+    }
+
     @GetMapping("/delete/{id}")
     public String confirmDelete(@PathVariable int id, Model model) {
         model.addAttribute("user", usersDataService.getById(id));
@@ -55,4 +185,24 @@ public class UserAdminController {
         usersDataService.deleteById(id);
         return "redirect:/admin/users";
     }
+
+    // the user list with the same filter the bulk action was applied to
+    private static String listUrl(UserFilterModel filter) {
+        UriComponentsBuilder url = UriComponentsBuilder.fromPath("/admin/users");
+        if (!isBlank(filter.getUsernamePrefix())) {
+            url.queryParam("usernamePrefix", filter.getUsernamePrefix());
+        }
+        if (!isBlank(filter.getRole())) {
+            url.queryParam("role", filter.getRole());
+        }
+        return url.build().encode().toUriString();
+    }
+
+    private static boolean selective(List<Integer> ids, UserFilterModel filter) {
+        return (ids != null && !ids.isEmpty()) || !isBlank(filter.getUsernamePrefix()) || !isBlank(filter.getRole());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
 }
@@ -1,9 +1,12 @@
 package com.gcu.activity1.data;
 
+import java.util.List;
+
 public interface DataAccessInterface<T> {
 
     public T getById(int id);
     public Iterable<T> getAll();
+    public List<T> getPage(int afterId, int pageSize);
     public T create(T item);
     public T update(T item);
     public boolean deleteById(int id);
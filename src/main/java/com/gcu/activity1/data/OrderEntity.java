@@ -1,9 +1,17 @@
 package com.gcu.activity1.data;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.MappedCollection;
 import org.springframework.data.relational.core.mapping.Table;
 
+import com.gcu.activity1.models.Mapper;
+import com.gcu.activity1.models.Money;
 import com.gcu.activity1.models.OrderModel;
 
 @Table("ORDERS")
@@ -19,23 +27,42 @@ public class OrderEntity {
     @Column("PRODUCT_NAME")
     private String product_name;
 
-    @Column("PRICE")
-    private double price;
+    // BIGINT minor units through the Money converters in config/JdbcConfig
+    @Column("PRICE_MINOR")
+    private Money price;
 
     @Column("QTY")
     private int quantity;
 
-    // constructor with all fields
-    public OrderEntity(int id, String order_number, String product_name, double price, int quantity) {
+    // optimistic lock: null for a new order, otherwise the version the caller loaded
+    @Version
+    @Column("VERSION")
+    private Integer version;
+
+    // the order's line items, in ORDER_LINES keyed by (ORDER_ID, LINE_NO) where LINE_NO is the list index.
+    // Saving the order deletes and re-inserts its lines; findById and findByOrderNumber load them with one
+    // extra SELECT, so lists of orders read them through OrderLineRepository instead
+    @MappedCollection(idColumn = "ORDER_ID", keyColumn = "LINE_NO")
+    private List<OrderLineEntity> lines = new ArrayList<>();
+
+    // constructor with all fields except the version (new orders and list views)
+    public OrderEntity(int id, String order_number, String product_name, Money price, int quantity) {
+        this(id, order_number, product_name, price, quantity, null);
+    }
+
+    @PersistenceCreator
+    public OrderEntity(int id, String order_number, String product_name, Money price, int quantity,
+            Integer version) {
         this.id = id;
         this.order_number = order_number;
         this.product_name = product_name;
         this.price = price;
         this.quantity = quantity;
+        this.version = version;
     }
 
     public OrderModel toModel() {
-        return new OrderModel(id, order_number, product_name, price, quantity);
+        return Mapper.toModel(this);
     }
 
     public int getId() {
@@ -62,11 +89,11 @@ public class OrderEntity {
         this.product_name = product_name;
     }
 
-    public double getPrice() {
+    public Money getPrice() {
         return price;
     }
 
-    public void setPrice(double price) {
+    public void setPrice(Money price) {
         this.price = price;
     }
 
@@ -77,4 +104,20 @@ public class OrderEntity {
     public void setQuantity(int quantity) {
         this.quantity = quantity;
     }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public List<OrderLineEntity> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<OrderLineEntity> lines) {
+        this.lines = lines;
+    }
 }
@@ -0,0 +1,112 @@
+package com.gcu.activity1.data;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.gcu.activity1.models.Money;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+// Writes every order with all its lines straight from the JDBC cursor to the response, one line at a time,
+// so memory use does not depend on the number of orders. Both formats read back through OrderImportService.
+@Service
+public class OrderExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private OrdersDataService ordersDataService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // one row per order line; the rows of an order are consecutive and repeat its id and order number
+    public void writeCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write("id,order_number,product_name,price,quantity\n");
+        ordersDataService.forEachLine(rs -> {
+            try {
+                writer.write(Integer.toString(rs.getInt(1)));
+                writer.write(',');
+                writeCsvField(writer, rs.getString(2));
+                writer.write(',');
+                writeCsvField(writer, rs.getString(3));
+                writer.write(',');
+                writer.write(Money.ofMinor(rs.getLong(4)).toString());
+                writer.write(',');
+                writer.write(Integer.toString(rs.getInt(5)));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    // one JSON object per order, shaped like OrderModel: the first line's fields plus a "lines" array.
+    // The line break is written by hand instead of the default root separator
+    public void writeNdjson(OutputStream out) {
+        try (JsonGenerator generator = objectMapper.writer().withRootValueSeparator((String) null).createGenerator(out)) {
+            // id of the order whose object is still open, or 0 before the first row
+            int[] openOrder = { 0 };
+            ordersDataService.forEachLine(rs -> {
+                int id = rs.getInt(1);
+                Money price = Money.ofMinor(rs.getLong(4));
+                if (id != openOrder[0]) {
+                    if (openOrder[0] != 0) {
+                        endOrder(generator);
+                    }
+                    openOrder[0] = id;
+                    generator.writeStartObject();
+                    generator.writeNumberProperty("id", id);
+                    generator.writeStringProperty("order_number", rs.getString(2));
+                    generator.writeStringProperty("product_name", rs.getString(3));
+                    generator.writeNumberProperty("price", price.amount());
+                    generator.writeNumberProperty("quantity", rs.getInt(5));
+                    generator.writeArrayPropertyStart("lines");
+                }
+                generator.writeStartObject();
+                generator.writeStringProperty("product_name", rs.getString(3));
+                generator.writeNumberProperty("price", price.amount());
+                generator.writeNumberProperty("quantity", rs.getInt(5));
+                generator.writeEndObject();
+            });
+            if (openOrder[0] != 0) {
+                endOrder(generator);
+            }
+        }
+    }
+
+    private static void endOrder(JsonGenerator generator) {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,302 @@
+package com.gcu.activity1.data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.gcu.activity1.models.ImportResult;
+import com.gcu.activity1.models.Mapper;
+import com.gcu.activity1.models.Money;
+import com.gcu.activity1.models.OrderLineModel;
+import com.gcu.activity1.models.OrderModel;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.exc.StreamReadException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+// Reads orders from a request body one row at a time, validates each row against the
+// OrderModel constraints and writes the valid ones in JDBC batches through OrdersDataService.
+@Service
+public class OrderImportService {
+
+    @Autowired
+    private OrdersDataService ordersDataService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final int batchSize;
+
+    public OrderImportService(@Value("${orders.import.batch-size:1000}") int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    // header row required: order_number,product_name,price,quantity (any order, "qty" also accepted).
+    // Quoted fields may contain commas, "" escapes and line breaks; rows are counted as records, so a quoted
+    // line break does not shift the row numbers in the errors. Each row is one order line:
+    // consecutive rows with the same order number are the lines of one order, as OrderExportService writes them.
+    public ImportResult importCsv(InputStream in) throws IOException {
+        ImportResult result = new ImportResult();
+        long startedAt = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        List<String> header = readCsvRecord(reader);
+        int[] columns = header == null ? null : csvColumns(header);
+        if (columns == null) {
+            result.addError(0, "Header must name the columns order_number, product_name, price and quantity");
+            return finish(result, startedAt);
+        }
+
+        Batch batch = new Batch();
+        CsvOrder pending = null;
+        long row = 0;
+        List<String> fields;
+        while ((fields = readCsvRecord(reader)) != null) {
+            row++;
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            result.rowRead();
+            String orderNumber = field(fields, columns[0]);
+            if (pending == null || orderNumber.isEmpty() || !orderNumber.equals(pending.order.getOrder_number())) {
+                addCsvOrder(batch, pending, result);
+                pending = new CsvOrder(row, orderNumber);
+            }
+            pending.rows++;
+            try {
+                pending.add(new OrderLineModel(field(fields, columns[1]), Money.valueOf(field(fields, columns[2])),
+                        Integer.parseInt(field(fields, columns[3]))));
+            } catch (NumberFormatException e) {
+                pending.reject(row, "Price and quantity must be numbers");
+            } catch (ArithmeticException e) {
+                pending.reject(row, "Price must have at most two decimal places");
+            }
+        }
+        addCsvOrder(batch, pending, result);
+        flush(batch, result);
+        return finish(result, startedAt);
+    }
+
+    // an order with an unreadable line is rejected whole rather than imported without that line
+    private void addCsvOrder(Batch batch, CsvOrder csvOrder, ImportResult result) {
+        if (csvOrder == null) {
+            return;
+        }
+        if (csvOrder.errorRow > 0) {
+            result.addError(csvOrder.errorRow, csvOrder.error);
+            return;
+        }
+        add(batch, csvOrder.firstRow, csvOrder.rows, csvOrder.order, result);
+    }
+
+    // accepts a JSON array of orders or newline-delimited JSON objects
+    public ImportResult importJson(InputStream in) {
+        ImportResult result = new ImportResult();
+        long startedAt = System.nanoTime();
+        Batch batch = new Batch();
+        long row = 0;
+
+        // absent numbers (including id) bind as 0 and are then caught by validation
+        try (MappingIterator<OrderModel> orders = objectMapper.readerFor(OrderModel.class)
+                .without(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES)
+                .readValues(in)) {
+            while (orders.hasNextValue()) {
+                row++;
+                result.rowRead();
+                OrderModel order;
+                try {
+                    order = orders.nextValue();
+                } catch (StreamReadException e) {
+                    // broken syntax: nothing after this point can be trusted
+                    result.addError(row, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+                    break;
+                } catch (JacksonException e) {
+                    // the iterator skips past the bad element, so keep going with the next one
+                    result.addError(row, "Unreadable order: " + e.getOriginalMessage());
+                    continue;
+                }
+                add(batch, row, 1, order, result);
+            }
+        } catch (JacksonException e) {
+            result.addError(row + 1, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+        }
+        flush(batch, result);
+        return finish(result, startedAt);
+    }
+
+    // row is where the order starts and rows how many input rows it took (a CSV order has one per line)
+    private void add(Batch batch, long row, int rows, OrderModel order, ImportResult result) {
+        if (order.getLines() == null) {
+            order.setLines(new ArrayList<>());
+        }
+        Mapper.copyFirstLine(order);
+        Set<ConstraintViolation<OrderModel>> violations = validator.validate(order);
+        if (!violations.isEmpty()) {
+            result.addError(row, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+        batch.orders.add(order);
+        batch.rows.add(row);
+        batch.rowCounts.add(rows);
+        if (batch.orders.size() >= batchSize) {
+            flush(batch, result);
+        }
+    }
+
+    private void flush(Batch batch, ImportResult result) {
+        if (batch.orders.isEmpty()) {
+            return;
+        }
+        insert(batch.orders, batch.rows, batch.rowCounts, result);
+        batch.orders = new ArrayList<>(batchSize);
+        batch.rows = new ArrayList<>(batchSize);
+        batch.rowCounts = new ArrayList<>(batchSize);
+    }
+
+    // createAll is one transaction, so a rejected batch left nothing behind: it is retried in halves
+    // until the orders the database refuses (e.g. a repeated order number) are isolated and reported
+    // on their own rows, while the rest of the batch is still imported
+    private void insert(List<OrderModel> orders, List<Long> rows, List<Integer> rowCounts, ImportResult result) {
+        try {
+            ordersDataService.createAll(orders);
+            result.rowsImported(rowCounts.stream().mapToInt(Integer::intValue).sum());
+        } catch (DataAccessException e) {
+            if (orders.size() == 1) {
+                result.addError(rows.get(0), "Database rejected row: " + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            int half = orders.size() / 2;
+            insert(orders.subList(0, half), rows.subList(0, half), rowCounts.subList(0, half), result);
+            insert(orders.subList(half, orders.size()), rows.subList(half, rows.size()),
+                    rowCounts.subList(half, rowCounts.size()), result);
+        }
+    }
+
+    private static ImportResult finish(ImportResult result, long startedAt) {
+        result.setElapsedMillis((System.nanoTime() - startedAt) / 1_000_000);
+        return result;
+    }
+
+    // returns the positions of order_number, product_name, price, quantity, or null if one is missing
+    private static int[] csvColumns(List<String> header) {
+        int[] columns = { -1, -1, -1, -1 };
+        for (int i = 0; i < header.size(); i++) {
+            switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "order_number" -> columns[0] = i;
+                case "product_name" -> columns[1] = i;
+                case "price" -> columns[2] = i;
+                case "quantity", "qty" -> columns[3] = i;
+                default -> { }
+            }
+        }
+        for (int column : columns) {
+            if (column < 0) {
+                return null;
+            }
+        }
+        return columns;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).trim() : "";
+    }
+
+    // reads one CSV record, or returns null at the end of the input. A record ends at a line break outside
+    // quotes (\n, \r\n or \r); inside quotes a line break is part of the field, as OrderExportService writes
+    // product names that contain one. "" inside quotes is a literal quote
+    static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (; c != -1; c = reader.read()) {
+            if (quoted) {
+                if (c != '"') {
+                    current.append((char) c);
+                    continue;
+                }
+                reader.mark(1);
+                if (reader.read() == '"') {
+                    current.append('"');
+                } else {
+                    reader.reset();
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                current.append((char) c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    // the consecutive CSV rows of one order
+    private static class CsvOrder {
+        private final long firstRow;
+        private final OrderModel order = new OrderModel();
+        private int rows;
+        private long errorRow;
+        private String error;
+
+        private CsvOrder(long firstRow, String orderNumber) {
+            this.firstRow = firstRow;
+            order.setOrder_number(orderNumber);
+        }
+
+        private void add(OrderLineModel line) {
+            order.getLines().add(line);
+        }
+
+        private void reject(long row, String message) {
+            if (errorRow == 0) {
+                errorRow = row;
+                error = message;
+            }
+        }
+    }
+
+    private static class Batch {
+        private List<OrderModel> orders = new ArrayList<>();
+        private List<Long> rows = new ArrayList<>();
+        // how many input rows each order took
+        private List<Integer> rowCounts = new ArrayList<>();
+    }
+}
@@ -0,0 +1,51 @@
+package com.gcu.activity1.data;
+
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import com.gcu.activity1.models.Money;
+
+// One line of an order. Not loaded or saved on its own: it belongs to the OrderEntity aggregate,
+// which supplies ORDER_ID and LINE_NO (see OrderEntity.lines).
+@Table("ORDER_LINES")
+public class OrderLineEntity {
+
+    @Column("PRODUCT_NAME")
+    private String product_name;
+
+    @Column("PRICE_MINOR")
+    private Money price;
+
+    @Column("QTY")
+    private int quantity;
+
+    public OrderLineEntity(String product_name, Money price, int quantity) {
+        this.product_name = product_name;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    public String getProduct_name() {
+        return product_name;
+    }
+
+    public void setProduct_name(String product_name) {
+        this.product_name = product_name;
+    }
+
+    public Money getPrice() {
+        return price;
+    }
+
+    public void setPrice(Money price) {
+        this.price = price;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,8 @@
+package com.gcu.activity1.data;
+
+import com.gcu.activity1.models.Money;
+
+// Read-only line of an order, tagged with its order id, so the lines of a whole page
+// can be loaded in one query and handed back to their orders (OrderLineRepository).
+public record OrderLineItem(int orderId, String product_name, Money price, int quantity) {
+}
@@ -0,0 +1,11 @@
+package com.gcu.activity1.data;
+
+import java.util.Collection;
+import java.util.List;
+
+// custom fragment of OrdersRepository, implemented in OrderLineRepositoryImpl
+public interface OrderLineRepository {
+
+    // the lines of all the given orders, ordered by order id and then line number
+    List<OrderLineItem> findLines(Collection<Integer> orderIds);
+}
@@ -0,0 +1,37 @@
+package com.gcu.activity1.data;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.gcu.activity1.models.Money;
+
+// Loads the lines of many orders with a single IN (...) query on the (ORDER_ID, LINE_NO) primary key.
+// Spring Data JDBC would load an aggregate's lines with one extra SELECT per order, so a page of
+// 50 orders read through findAllById costs 51 round trips; this costs two.
+public class OrderLineRepositoryImpl implements OrderLineRepository {
+
+    private static final String LINES_SQL = "SELECT ORDER_ID, PRODUCT_NAME, PRICE_MINOR, QTY FROM ORDER_LINES "
+            + "WHERE ORDER_ID IN (:orderIds) ORDER BY ORDER_ID, LINE_NO";
+
+    private static final RowMapper<OrderLineItem> ORDER_LINE_ITEM_ROW_MAPPER = (rs, rowNum) -> new OrderLineItem(
+            rs.getInt(1), rs.getString(2), Money.ofMinor(rs.getLong(3)), rs.getInt(4));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public OrderLineRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<OrderLineItem> findLines(Collection<Integer> orderIds) {
+        // IN () is not valid SQL
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(LINES_SQL, Map.of("orderIds", orderIds), ORDER_LINE_ITEM_ROW_MAPPER);
+    }
+}
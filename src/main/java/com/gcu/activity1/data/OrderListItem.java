@@ -0,0 +1,16 @@
+package com.gcu.activity1.data;
+
+import org.springframework.data.relational.core.mapping.Column;
+
+import com.gcu.activity1.models.Money;
+
+// Read-only projection of an order for list views: only the columns the pages show.
+// Returned by @Query methods with an explicit column list, so new ORDERS columns stay off the wire,
+// and built straight from the ResultSet by OrdersDataService for the full listings.
+public record OrderListItem(
+        @Column("ID") int id,
+        @Column("ORDER_NUMBER") String order_number,
+        @Column("PRODUCT_NAME") String product_name,
+        @Column("PRICE_MINOR") Money price,
+        @Column("QTY") int quantity) {
+}
@@ -0,0 +1,11 @@
+package com.gcu.activity1.data;
+
+import java.util.List;
+
+import com.gcu.activity1.models.OrderSearchModel;
+
+// custom fragment of OrdersRepository, implemented in OrderSearchRepositoryImpl
+public interface OrderSearchRepository {
+
+    List<OrderEntity> search(OrderSearchModel criteria, int afterId, int limit);
+}
@@ -0,0 +1,83 @@
+package com.gcu.activity1.data;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.gcu.activity1.config.JdbcConfig;
+import com.gcu.activity1.models.Money;
+import com.gcu.activity1.models.OrderSearchModel;
+
+// Builds the WHERE clause from only the filters that were supplied, so each predicate can use
+// its index (see db/mysql/001-orders-search-indexes.sql and 007) and results are keyset-paged on ID.
+// Product, price and quantity are matched against every line of an order, in ORDER_LINES.
+// The filters select ids only (a deferred join): asking for whole rows with ORDER BY ID LIMIT
+// tempts the planner into walking the primary key and filtering every row, which is a full
+// scan whenever the filter is selective.
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    private static final RowMapper<OrderEntity> ORDER_ENTITY_ROW_MAPPER = (rs, rowNum) -> new OrderEntity(
+            rs.getInt("ID"), rs.getString("ORDER_NUMBER"), rs.getString("PRODUCT_NAME"),
+            Money.ofMinor(rs.getLong("PRICE_MINOR")), rs.getInt("QTY"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public OrderSearchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<OrderEntity> search(OrderSearchModel criteria, int afterId, int limit) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT O.ID, O.ORDER_NUMBER, O.PRODUCT_NAME, O.PRICE_MINOR, O.QTY FROM ("
+                + "SELECT ID FROM ORDERS WHERE ID > :afterId");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+
+        if (hasText(criteria.getOrderNumber())) {
+            sql.append(" AND ORDER_NUMBER = :orderNumber");
+            params.addValue("orderNumber", criteria.getOrderNumber().trim());
+        }
+        // product, price and quantity are per line: one line has to meet all of them
+        StringBuilder line = new StringBuilder();
+        if (hasText(criteria.getProductPrefix())) {
+            // a prefix LIKE with no leading wildcard is an index range scan
+            line.append(" AND L.PRODUCT_NAME LIKE :productPrefix");
+            params.addValue("productPrefix", escapeLike(criteria.getProductPrefix().trim()) + "%");
+        }
+        if (criteria.getMinPrice() != null) {
+            line.append(" AND L.PRICE_MINOR >= :minPrice");
+            params.addValue("minPrice", JdbcConfig.toMinorUnits(criteria.getMinPrice()));
+        }
+        if (criteria.getMaxPrice() != null) {
+            line.append(" AND L.PRICE_MINOR <= :maxPrice");
+            params.addValue("maxPrice", JdbcConfig.toMinorUnits(criteria.getMaxPrice()));
+        }
+        if (criteria.getMinQuantity() != null) {
+            line.append(" AND L.QTY >= :minQuantity");
+            params.addValue("minQuantity", criteria.getMinQuantity());
+        }
+        if (criteria.getMaxQuantity() != null) {
+            line.append(" AND L.QTY <= :maxQuantity");
+            params.addValue("maxQuantity", criteria.getMaxQuantity());
+        }
+        if (line.length() > 0) {
+            sql.append(" AND EXISTS (SELECT 1 FROM ORDER_LINES L WHERE L.ORDER_ID = ORDERS.ID").append(line).append(')');
+        }
+        sql.append(" ORDER BY ID LIMIT :limit) K JOIN ORDERS O ON O.ID = K.ID ORDER BY O.ID");
+
+        return jdbcTemplate.query(sql.toString(), params, ORDER_ENTITY_ROW_MAPPER);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    // user input is matched literally, not as a pattern (also used by UserBulkRepositoryImpl)
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
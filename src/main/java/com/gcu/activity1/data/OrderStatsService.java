@@ -0,0 +1,85 @@
+package com.gcu.activity1.data;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gcu.activity1.config.CacheConfig;
+import com.gcu.activity1.models.Money;
+import com.gcu.activity1.models.OrderStatsModel;
+import com.gcu.activity1.models.ProductStatsModel;
+
+// Aggregates over ORDER_LINES computed by the database; only the totals, three percentile rows and
+// the top products come back, never the orders themselves. An order's value is the sum of its
+// PRICE_MINOR * QTY lines, so every sum is exact BIGINT arithmetic in cents and read back as Money.
+@Service
+public class OrderStatsService {
+
+    // an order is counted even if it has no lines
+    private static final String TOTALS_SQL =
+            "SELECT (SELECT COUNT(*) FROM ORDERS), COALESCE(SUM(QTY), 0), COALESCE(SUM(PRICE_MINOR * QTY), 0) "
+            + "FROM ORDER_LINES";
+
+    // nearest-rank percentiles from one sort: the rank and the row count come from the same scan;
+    // the GROUP BY reads ORDER_LINES in primary-key order, so it needs no sort of its own
+    private static final String PERCENTILES_SQL =
+            "SELECT ORDER_VALUE, RN, CNT FROM ("
+            + "SELECT ORDER_VALUE, ROW_NUMBER() OVER (ORDER BY ORDER_VALUE) AS RN, COUNT(*) OVER () AS CNT FROM ("
+            + "SELECT SUM(PRICE_MINOR * QTY) AS ORDER_VALUE FROM ORDER_LINES GROUP BY ORDER_ID) O) V "
+            + "WHERE RN IN (CEIL(0.50 * CNT), CEIL(0.90 * CNT), CEIL(0.99 * CNT)) ORDER BY RN";
+
+    // ORDER_COUNT is the number of orders with at least one line of the product
+    private static final String TOP_PRODUCTS_SQL =
+            "SELECT PRODUCT_NAME, COUNT(DISTINCT ORDER_ID) AS ORDER_COUNT, SUM(QTY) AS QUANTITY, "
+            + "SUM(PRICE_MINOR * QTY) AS REVENUE FROM ORDER_LINES GROUP BY PRODUCT_NAME ORDER BY REVENUE DESC LIMIT ?";
+
+    private static final RowMapper<ProductStatsModel> PRODUCT_STATS_ROW_MAPPER = (rs, rowNum) -> new ProductStatsModel(
+            rs.getString("PRODUCT_NAME"), rs.getLong("ORDER_COUNT"), rs.getLong("QUANTITY"), Money.ofMinor(rs.getLong("REVENUE")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderStatsService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // cached for a few seconds (orders.stats.cache.spec); the queries scan the whole table
+    @Cacheable(cacheNames = CacheConfig.ORDER_STATS_CACHE, key = "#topProducts")
+    @Transactional(readOnly = true)
+    public OrderStatsModel getStats(int topProducts) {
+        OrderStatsModel stats = jdbcTemplate.queryForObject(TOTALS_SQL, (rs, rowNum) -> {
+            OrderStatsModel totals = new OrderStatsModel();
+            totals.setOrderCount(rs.getLong(1));
+            totals.setTotalQuantity(rs.getLong(2));
+            totals.setTotalRevenue(Money.ofMinor(rs.getLong(3)));
+            return totals;
+        });
+
+        if (stats.getOrderCount() > 0) {
+            jdbcTemplate.query(PERCENTILES_SQL, rs -> {
+                Money value = Money.ofMinor(rs.getLong("ORDER_VALUE"));
+                long rank = rs.getLong("RN");
+                long count = rs.getLong("CNT");
+                // with few rows two percentiles can share a rank, so test each one
+                if (rank == (long) Math.ceil(0.50 * count)) {
+                    stats.setMedianOrderValue(value);
+                }
+                if (rank == (long) Math.ceil(0.90 * count)) {
+                    stats.setP90OrderValue(value);
+                }
+                if (rank == (long) Math.ceil(0.99 * count)) {
+                    stats.setP99OrderValue(value);
+                }
+            });
+        }
+
+        List<ProductStatsModel> top = jdbcTemplate.query(TOP_PRODUCTS_SQL, PRODUCT_STATS_ROW_MAPPER, topProducts);
+        stats.setTopProducts(top);
+        stats.setComputedAt(Instant.now());
+        return stats;
+    }
+}
@@ -1,65 +1,325 @@
 package com.gcu.activity1.data;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
-
-import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.gcu.activity1.config.CacheConfig;
+import com.gcu.activity1.config.JdbcConfig;
 import com.gcu.activity1.models.Mapper;
+import com.gcu.activity1.models.Money;
+import com.gcu.activity1.models.OrderLineModel;
 import com.gcu.activity1.models.OrderModel;
+import com.gcu.activity1.models.OrderSearchModel;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 
+// every public method is timed as orders.data{class,method} (latency histogram on /actuator/prometheus)
 @Service
+@Timed(value = "orders.data", histogram = true)
 public class OrdersDataService implements DataAccessInterface<OrderModel> {
 
+    private static final String INSERT_SQL =
+            "INSERT INTO ORDERS (ORDER_NUMBER, PRODUCT_NAME, PRICE_MINOR, QTY) VALUES (?, ?, ?, ?)";
+
+    // the batch does not read back the new ids, so each line finds its order by the unique order number
+    private static final String INSERT_LINE_SQL = "INSERT INTO ORDER_LINES (ORDER_ID, LINE_NO, PRODUCT_NAME, PRICE_MINOR, QTY) "
+            + "SELECT ID, ?, ?, ?, ? FROM ORDERS WHERE ORDER_NUMBER = ?";
+
+    // one row per order line, in order and line order; every order has a line.
+    // Walks the ORDERS primary key and seeks each order's lines on theirs, so it streams without a sort
+    private static final String LINES_SQL = "SELECT O.ID, O.ORDER_NUMBER, L.PRODUCT_NAME, L.PRICE_MINOR, L.QTY "
+            + "FROM ORDERS O JOIN ORDER_LINES L ON L.ORDER_ID = O.ID ORDER BY O.ID, L.LINE_NO";
+
     // add a data member for the repository using dependency injection
     @Autowired
     private OrdersRepository ordersRepository;
-    private DataSource dataSource;
+    @Autowired
+    private CacheManager cacheManager;
+    // the application-wide template (spring.jdbc.template.*) for batch writes
     private JdbcTemplate jdbcTemplate;
+    // same pool, but with a fetch size for the cursor-backed listings
+    private JdbcTemplate streamingJdbcTemplate;
+    private DistributionSummary getAllRows;
 
     // constructor for dependency injection
-    public OrdersDataService(DataSource dataSource) {
-        this.dataSource = dataSource;
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    public OrdersDataService(JdbcTemplate jdbcTemplate,
+            @Value("${orders.stream.fetch-size:500}") int streamFetchSize, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.getAllRows = DistributionSummary.builder("orders.getall.rows")
+                .description("Rows returned by OrdersDataService.getAll")
+                .baseUnit("rows")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.streamingJdbcTemplate = new JdbcTemplate();
+        this.streamingJdbcTemplate.setDataSource(jdbcTemplate.getDataSource());
+        // rows are pulled from the server in batches of this size instead of all at once
+        this.streamingJdbcTemplate.setFetchSize(streamFetchSize);
     }
 
+    // read-through: only a miss goes to the database; create/update/delete keep the entry current.
+    // Callers (the edit form) modify what they get back, so the cache holds its own copy and hands out copies.
+    // Not @Transactional, or a cache hit would still take a connection: the repository opens the read-only one
     @Override
     public OrderModel getById(int id) {
+        Cache orders = cacheManager.getCache(CacheConfig.ORDERS_CACHE);
+        OrderModel cached = orders.get(id, OrderModel.class);
+        if (cached != null) {
+            return Mapper.copyOf(cached);
+        }
+
         OrderEntity orderEntity = ordersRepository.findById(id).orElse(null);
         if (orderEntity == null) {
             return null;
         }
-        return Mapper.toModel(orderEntity);
+        return cache(Mapper.toModel(orderEntity));
+    }
+
+    // the number cache only maps order_number -> id; the order itself comes from the orders cache
+    // and is checked against the number, so a renamed or deleted order falls through to the database
+    public OrderModel getByOrderNumber(String orderNumber) {
+        Cache numbers = cacheManager.getCache(CacheConfig.ORDER_NUMBERS_CACHE);
+        Cache orders = cacheManager.getCache(CacheConfig.ORDERS_CACHE);
+        Integer id = numbers.get(orderNumber, Integer.class);
+        if (id != null) {
+            OrderModel cached = orders.get(id, OrderModel.class);
+            if (cached != null && orderNumber.equals(cached.getOrder_number())) {
+                return Mapper.copyOf(cached);
+            }
+        }
+
+        OrderEntity orderEntity = ordersRepository.findByOrderNumber(orderNumber).orElse(null);
+        if (orderEntity == null) {
+            numbers.evict(orderNumber);
+            return null;
+        }
+        OrderModel orderModel = cache(Mapper.toModel(orderEntity));
+        numbers.put(orderNumber, orderModel.getId());
+        return orderModel;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Iterable<OrderModel> getAll() {
-        ArrayList<OrderModel> orderModels = new ArrayList<OrderModel>();
-        Iterable<OrderEntity> orderEntities = ordersRepository.findAll();
-        for (OrderEntity orderEntity : orderEntities) {
+        // every order with all its lines, gathered the way streamAll does; like the list projections,
+        // the models carry no version
+        List<OrderModel> orderModels = jdbcTemplate.query(LINES_SQL, rs -> {
+            List<OrderModel> orders = new ArrayList<>();
+            OrderRows orderRows = new OrderRows(() -> rs.next() ? rs : null);
+            while (orderRows.hasOrder()) {
+                orders.add(orderRows.nextOrder());
+            }
+            return orders;
+        });
+        getAllRows.record(orderModels.size());
+        return orderModels;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderModel> getPage(int afterId, int pageSize) {
+        ArrayList<OrderModel> orderModels = new ArrayList<OrderModel>(pageSize);
+        for (OrderListItem orderListItem : ordersRepository.findListPageAfter(afterId, pageSize)) {
+            orderModels.add(Mapper.toModel(orderListItem));
+        }
+        return withLines(orderModels);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderModel> search(OrderSearchModel criteria, int afterId, int pageSize) {
+        ArrayList<OrderModel> orderModels = new ArrayList<OrderModel>(pageSize);
+        for (OrderEntity orderEntity : ordersRepository.search(criteria, afterId, pageSize)) {
             orderModels.add(Mapper.toModel(orderEntity));
         }
+        return withLines(orderModels);
+    }
+
+    // the lines of every order on the page in one query, instead of one query per order
+    private List<OrderModel> withLines(List<OrderModel> orderModels) {
+        Map<Integer, OrderModel> byId = new HashMap<>(orderModels.size() * 2);
+        for (OrderModel orderModel : orderModels) {
+            byId.put(orderModel.getId(), orderModel);
+        }
+        for (OrderLineItem orderLineItem : ordersRepository.findLines(byId.keySet())) {
+            byId.get(orderLineItem.orderId()).getLines().add(Mapper.toModel(orderLineItem));
+        }
         return orderModels;
     }
 
+    // lazily reads every order with its lines through a forward-only cursor; the caller must close the stream.
+    // Consecutive line rows of one order are read into its model, so only the current order is in memory
+    public Stream<OrderModel> streamAll() {
+        // the stream's elements are the ResultSet itself, moved to the next row: OrderRows reads each row
+        // into the order before asking for the next one, so no object is built per row in between
+        Stream<ResultSet> rows = streamingJdbcTemplate.queryForStream(LINES_SQL, (rs, rowNum) -> rs);
+        Iterator<ResultSet> cursor = rows.iterator();
+        OrderRows orderRows;
+        try {
+            orderRows = new OrderRows(() -> cursor.hasNext() ? cursor.next() : null);
+        } catch (SQLException e) {
+            rows.close();
+            throw translate(e);
+        }
+        Iterator<OrderModel> orders = new Iterator<OrderModel>() {
+            @Override
+            public boolean hasNext() {
+                return orderRows.hasOrder();
+            }
+
+            @Override
+            public OrderModel next() {
+                if (!orderRows.hasOrder()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    return orderRows.nextOrder();
+                } catch (SQLException e) {
+                    throw translate(e);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(orders, Spliterator.ORDERED), false)
+                .onClose(rows::close);
+    }
+
+    private DataAccessException translate(SQLException e) {
+        DataAccessException translated = streamingJdbcTemplate.getExceptionTranslator().translate("streamAll", LINES_SQL, e);
+        return translated != null ? translated : new UncategorizedSQLException("streamAll", LINES_SQL, e);
+    }
+
+    // hands every order line to the callback as it comes off the cursor, without building any objects;
+    // columns are ID, ORDER_NUMBER, PRODUCT_NAME, PRICE_MINOR (cents), QTY in that order, one row per line,
+    // with the lines of an order in consecutive rows
+    @Transactional(readOnly = true)
+    public void forEachLine(RowCallbackHandler handler) {
+        streamingJdbcTemplate.query(LINES_SQL, handler);
+    }
+
     @Override
     public OrderModel create(OrderModel item) {
         OrderEntity orderEntity = ordersRepository.save(Mapper.toEntity(item));
-        return Mapper.toModel(orderEntity);
+        return cache(Mapper.toModel(orderEntity));
+    }
+
+    // inserts the whole list as one JDBC batch of orders and one of their lines; new ids are not read back
+    @Transactional
+    public int createAll(List<OrderModel> items) {
+        if (items.isEmpty()) {
+            return 0;
+        }
+        // the ORDERS row carries a copy of the first line, as Mapper.toEntity does for single saves
+        jdbcTemplate.batchUpdate(INSERT_SQL, items, items.size(), (ps, item) -> {
+            OrderLineModel first = Mapper.linesOf(item).get(0);
+            ps.setString(1, item.getOrder_number());
+            ps.setString(2, first.getProduct_name());
+            ps.setLong(3, JdbcConfig.toMinorUnits(first.getPrice()));
+            ps.setInt(4, first.getQuantity());
+        });
+        List<Object[]> lineRows = new ArrayList<>(items.size());
+        for (OrderModel item : items) {
+            List<OrderLineModel> lines = Mapper.linesOf(item);
+            for (int lineNo = 0; lineNo < lines.size(); lineNo++) {
+                OrderLineModel line = lines.get(lineNo);
+                lineRows.add(new Object[] { lineNo, line.getProduct_name(), JdbcConfig.toMinorUnits(line.getPrice()),
+                        line.getQuantity(), item.getOrder_number() });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_LINE_SQL, lineRows);
+        return items.size();
     }
 
+    // optimistic: the UPDATE only matches if the row still has the version the caller loaded,
+    // otherwise OptimisticLockingFailureException and the caller decides what to show
     @Override
     public OrderModel update(OrderModel item) {
-        OrderEntity orderEntity = ordersRepository.save(Mapper.toEntity(item));
-        return Mapper.toModel(orderEntity);
+        if (item.getVersion() == null) {
+            // without a version Spring Data would treat the order as new and INSERT it
+            throw new OptimisticLockingFailureException("Order " + item.getId() + " was submitted without a version");
+        }
+        try {
+            OrderEntity orderEntity = ordersRepository.save(Mapper.toEntity(item));
+            return cache(Mapper.toModel(orderEntity));
+        } catch (OptimisticLockingFailureException e) {
+            // the cached copy may be as stale as the one the caller loaded
+            cacheManager.getCache(CacheConfig.ORDERS_CACHE).evict(item.getId());
+            throw e;
+        }
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ORDERS_CACHE, key = "#id")
     public boolean deleteById(int id) {
         ordersRepository.deleteById(id);
         return true;
     }
+
+    // stores a copy, so whatever the caller does with the returned model never reaches the cache
+    private OrderModel cache(OrderModel orderModel) {
+        cacheManager.getCache(CacheConfig.ORDERS_CACHE).put(orderModel.getId(), Mapper.copyOf(orderModel));
+        return orderModel;
+    }
+
+    // reads LINES_SQL an order at a time, straight from the ResultSet: each row becomes one of its lines,
+    // and the order's own product, price and quantity are its first line's, like the ORDERS row copy
+    private static final class OrderRows {
+        private final RowCursor cursor;
+        // on the first row of the next order, or null past the last row
+        private ResultSet rs;
+
+        OrderRows(RowCursor cursor) throws SQLException {
+            this.cursor = cursor;
+            this.rs = cursor.next();
+        }
+
+        boolean hasOrder() {
+            return rs != null;
+        }
+
+        OrderModel nextOrder() throws SQLException {
+            int id = rs.getInt(1);
+            String orderNumber = rs.getString(2);
+            OrderLineModel first = line(rs);
+            OrderModel orderModel = new OrderModel(id, orderNumber, first.getProduct_name(), first.getPrice(),
+                    first.getQuantity());
+            orderModel.getLines().add(first);
+            while ((rs = cursor.next()) != null && rs.getInt(1) == id) {
+                orderModel.getLines().add(line(rs));
+            }
+            return orderModel;
+        }
+
+        private static OrderLineModel line(ResultSet rs) throws SQLException {
+            return new OrderLineModel(rs.getString(3), Money.ofMinor(rs.getLong(4)), rs.getInt(5));
+        }
+    }
+
+    // the ResultSet moved to the next row, or null past the last one
+    @FunctionalInterface
+    private interface RowCursor {
+        ResultSet next() throws SQLException;
+    }
 }
@@ -1,9 +1,31 @@
 package com.gcu.activity1.data;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface OrdersRepository extends CrudRepository<OrderEntity, Integer> {
+public interface OrdersRepository extends CrudRepository<OrderEntity, Integer>, OrderSearchRepository,
+        OrderLineRepository {
+
+    // keyset page for the list view: seeks on the primary key so the cost does not grow with the page number,
+    // and reads only the listed columns
+    @Query("SELECT ID, ORDER_NUMBER, PRODUCT_NAME, PRICE_MINOR, QTY FROM ORDERS WHERE ID > :afterId ORDER BY ID LIMIT :limit")
+    List<OrderListItem> findListPageAfter(int afterId, int limit);
+
+    // the cache misses of OrdersDataService.getById and getByOrderNumber: each a read-only transaction of its
+    // own (the order and its lines from one snapshot), so the cached lookups above them need none
+    @Override
+    @Transactional(readOnly = true)
+    Optional<OrderEntity> findById(Integer id);
+
+    // single-row seek on the unique index UX_ORDERS_ORDER_NUMBER
+    @Transactional(readOnly = true)
+    @Query("SELECT * FROM ORDERS WHERE ORDER_NUMBER = :orderNumber")
+    Optional<OrderEntity> findByOrderNumber(String orderNumber);
 
 }
@@ -0,0 +1,20 @@
+package com.gcu.activity1.data;
+
+import java.util.List;
+
+import com.gcu.activity1.models.UserFilterModel;
+
+// custom fragment of UsersRepository, implemented in UserBulkRepositoryImpl.
+// Each method is one statement over the given ids and/or filter and returns the number of users changed;
+// exceptUsername (the acting admin) never matches, so nobody can disable, demote or delete themselves.
+public interface UserBulkRepository {
+
+    int setEnabled(List<Integer> ids, UserFilterModel filter, String exceptUsername, boolean enabled);
+
+    int setRole(List<Integer> ids, UserFilterModel filter, String exceptUsername, String role);
+
+    int deleteMatching(List<Integer> ids, UserFilterModel filter, String exceptUsername);
+
+    // how many users deleteMatching would delete with the same arguments, for its confirmation page
+    int countMatching(List<Integer> ids, UserFilterModel filter, String exceptUsername);
+}
@@ -0,0 +1,87 @@
+package com.gcu.activity1.data;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.gcu.activity1.models.UserFilterModel;
+
+// Set-based UPDATE/DELETE for the admin bulk actions: a single statement however many users match,
+// instead of a read and a write per user. Updates skip rows that already have the new value and bump
+// VERSION on the rest, so an edit form opened before the bulk change gets a conflict instead of undoing it.
+public class UserBulkRepositoryImpl implements UserBulkRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public UserBulkRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int setEnabled(List<Integer> ids, UserFilterModel filter, String exceptUsername, boolean enabled) {
+        MapSqlParameterSource params = new MapSqlParameterSource("enabled", enabled);
+        String where = where(ids, filter, exceptUsername, params);
+        return jdbcTemplate.update("UPDATE USERS SET ENABLED = :enabled, VERSION = VERSION + 1 "
+                + where + " AND ENABLED <> :enabled", params);
+    }
+
+    @Override
+    public int setRole(List<Integer> ids, UserFilterModel filter, String exceptUsername, String role) {
+        MapSqlParameterSource params = new MapSqlParameterSource("newRole", role);
+        String where = where(ids, filter, exceptUsername, params);
+        return jdbcTemplate.update("UPDATE USERS SET ROLE = :newRole, VERSION = VERSION + 1 "
+                + where + " AND ROLE <> :newRole", params);
+    }
+
+    @Override
+    public int deleteMatching(List<Integer> ids, UserFilterModel filter, String exceptUsername) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        return jdbcTemplate.update("DELETE FROM USERS " + where(ids, filter, exceptUsername, params), params);
+    }
+
+    @Override
+    public int countMatching(List<Integer> ids, UserFilterModel filter, String exceptUsername) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM USERS "
+                + where(ids, filter, exceptUsername, params), params, Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    // ids and filter fields are ANDed, each only when supplied; refuses to build a WHERE that matches everyone
+    private static String where(List<Integer> ids, UserFilterModel filter, String exceptUsername,
+            MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder("WHERE 1 = 1");
+        boolean selective = false;
+
+        if (exceptUsername != null) {
+            where.append(" AND USERNAME <> :exceptUsername");
+            params.addValue("exceptUsername", exceptUsername);
+        }
+
+        if (ids != null && !ids.isEmpty()) {
+            where.append(" AND ID IN (:ids)");
+            params.addValue("ids", ids);
+            selective = true;
+        }
+        if (filter != null && hasText(filter.getUsernamePrefix())) {
+            where.append(" AND USERNAME LIKE :usernamePrefix");
+            params.addValue("usernamePrefix",
+                    OrderSearchRepositoryImpl.escapeLike(filter.getUsernamePrefix().trim()) + "%");
+            selective = true;
+        }
+        if (filter != null && hasText(filter.getRole())) {
+            where.append(" AND ROLE = :role");
+            params.addValue("role", filter.getRole().trim());
+            selective = true;
+        }
+        if (!selective) {
+            throw new IllegalArgumentException("A bulk change needs selected users or a filter");
+        }
+        return where.toString();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -1,6 +1,8 @@
 package com.gcu.activity1.data;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -23,12 +25,23 @@ public class UserEntity {
     @Column("ENABLED")
     private boolean enabled;
 
+    // optimistic lock: null for a new user, otherwise the version the caller loaded
+    @Version
+    @Column("VERSION")
+    private Integer version;
+
     public UserEntity(int id, String username, String password, String role, boolean enabled) {
+        this(id, username, password, role, enabled, null);
+    }
+
+    @PersistenceCreator
+    public UserEntity(int id, String username, String password, String role, boolean enabled, Integer version) {
         this.id = id;
         this.username = username;
         this.password = password;
         this.role = role;
         this.enabled = enabled;
+        this.version = version;
     }
 
     public int getId() {
@@ -70,4 +83,12 @@ public class UserEntity {
     public void setEnabled(boolean enabled) {
         this.enabled = enabled;
     }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,11 @@
+package com.gcu.activity1.data;
+
+import org.springframework.data.relational.core.mapping.Column;
+
+// Read-only projection of a user for list views: never the PASSWORD hash
+public record UserListItem(
+        @Column("ID") int id,
+        @Column("USERNAME") String username,
+        @Column("ROLE") String role,
+        @Column("ENABLED") boolean enabled) {
+}
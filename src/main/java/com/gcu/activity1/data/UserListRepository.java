@@ -0,0 +1,13 @@
+package com.gcu.activity1.data;
+
+import java.util.List;
+
+import com.gcu.activity1.models.UserFilterModel;
+
+// custom fragment of UsersRepository, implemented in UserListRepositoryImpl
+public interface UserListRepository {
+
+    // sort is "id" or "username"; the page starts after the (afterUsername, afterId) cursor, or at the top if null
+    List<UserListItem> findSummaries(UserFilterModel filter, String sort, boolean descending,
+            String afterUsername, Integer afterId, int limit);
+}
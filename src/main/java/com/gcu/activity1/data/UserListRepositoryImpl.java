@@ -0,0 +1,66 @@
+package com.gcu.activity1.data;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.gcu.activity1.models.UserFilterModel;
+
+// The admin user list, one keyset page at a time and without the PASSWORD column, so the page costs the
+// same however many users there are. Sorting by USERNAME reads IX_USERS_USERNAME in order
+// (db/mysql/004-users-username-index.sql; as an InnoDB secondary index it is really (USERNAME, ID)),
+// and a username prefix is a range scan on the same index. Sorting by ID walks the primary key.
+public class UserListRepositoryImpl implements UserListRepository {
+
+    public static final String SORT_USERNAME = "username";
+
+    private static final RowMapper<UserListItem> USER_LIST_ITEM_ROW_MAPPER = (rs, rowNum) -> new UserListItem(
+            rs.getInt("ID"), rs.getString("USERNAME"), rs.getString("ROLE"), rs.getBoolean("ENABLED"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public UserListRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<UserListItem> findSummaries(UserFilterModel filter, String sort, boolean descending,
+            String afterUsername, Integer afterId, int limit) {
+        boolean byUsername = SORT_USERNAME.equals(sort);
+        String after = descending ? " < " : " > ";
+        String direction = descending ? " DESC" : "";
+
+        StringBuilder sql = new StringBuilder("SELECT ID, USERNAME, ROLE, ENABLED FROM USERS WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+
+        if (filter != null && hasText(filter.getUsernamePrefix())) {
+            sql.append(" AND USERNAME LIKE :usernamePrefix");
+            params.addValue("usernamePrefix",
+                    OrderSearchRepositoryImpl.escapeLike(filter.getUsernamePrefix().trim()) + "%");
+        }
+        if (filter != null && hasText(filter.getRole())) {
+            sql.append(" AND ROLE = :role");
+            params.addValue("role", filter.getRole().trim());
+        }
+        if (afterId != null && byUsername && afterUsername != null) {
+            // usernames are not guaranteed unique, so the id breaks ties
+            sql.append(" AND (USERNAME").append(after).append(":afterUsername")
+                    .append(" OR (USERNAME = :afterUsername AND ID").append(after).append(":afterId))");
+            params.addValue("afterUsername", afterUsername);
+            params.addValue("afterId", afterId);
+        } else if (afterId != null && !byUsername) {
+            sql.append(" AND ID").append(after).append(":afterId");
+            params.addValue("afterId", afterId);
+        }
+        sql.append(byUsername ? " ORDER BY USERNAME" + direction + ", ID" + direction : " ORDER BY ID" + direction);
+        sql.append(" LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, USER_LIST_ITEM_ROW_MAPPER);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -1,9 +1,16 @@
 package com.gcu.activity1.data;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,11 +18,20 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.gcu.activity1.config.CacheConfig;
 import com.gcu.activity1.models.Mapper;
+import com.gcu.activity1.models.UserFilterModel;
 import com.gcu.activity1.models.UserModel;
 
+import io.micrometer.core.annotation.Timed;
+
+// every public method is timed as users.data{class,method}, including loadUserByUsername for logins
 @Service
+@Timed(value = "users.data", histogram = true)
 public class UsersDataService implements DataAccessInterface<UserModel>, UserDetailsService {
 
     @Autowired
@@ -24,9 +40,17 @@ public class UsersDataService implements DataAccessInterface<UserModel>, UserDet
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    // user id -> the keys it is cached under, so a write evicts exactly those (a rename's old name included)
+    // instead of scanning the cache; one entry per user that has logged in since startup
+    private final Map<Integer, Set<String>> cachedUsernames = new ConcurrentHashMap<>();
+
+    // no transaction here: a cache hit must not borrow a connection; a miss runs in the repository's own
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<UserEntity> optionalUser = usersRepository.findByUsername(username);
+        Optional<UserEntity> optionalUser = findByUsername(username);
 
         if (optionalUser.isEmpty()) {
             throw new UsernameNotFoundException("User not found: " + username);
@@ -45,6 +69,7 @@ public class UsersDataService implements DataAccessInterface<UserModel>, UserDet
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserModel getById(int id) {
         UserEntity userEntity = usersRepository.findById(id).orElse(null);
         if (userEntity == null) {
@@ -54,23 +79,41 @@ public class UsersDataService implements DataAccessInterface<UserModel>, UserDet
     }
 
     public UserModel getByUsername(String username) {
-        Optional<UserEntity> optionalUser = usersRepository.findByUsername(username);
+        Optional<UserEntity> optionalUser = findByUsername(username);
         if (optionalUser.isEmpty()) {
             return null;
         }
         return Mapper.toModel(optionalUser.get());
     }
 
+    // list views: no password hashes are read, so the models come back with a null password
     @Override
+    @Transactional(readOnly = true)
     public Iterable<UserModel> getAll() {
         ArrayList<UserModel> userModels = new ArrayList<>();
-        Iterable<UserEntity> userEntities = usersRepository.findAll();
-        for (UserEntity userEntity : userEntities) {
-            userModels.add(Mapper.toModel(userEntity));
+        for (UserListItem userListItem : usersRepository.findAllListItems()) {
+            userModels.add(Mapper.toModel(userListItem));
         }
         return userModels;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserModel> getPage(int afterId, int pageSize) {
+        ArrayList<UserModel> userModels = new ArrayList<>(pageSize);
+        for (UserListItem userListItem : usersRepository.findListPageAfter(afterId, pageSize)) {
+            userModels.add(Mapper.toModel(userListItem));
+        }
+        return userModels;
+    }
+
+    // one page of the admin user list, as projections straight to the view
+    @Transactional(readOnly = true)
+    public List<UserListItem> getSummaryPage(UserFilterModel filter, String sort, boolean descending,
+            String afterUsername, Integer afterId, int pageSize) {
+        return usersRepository.findSummaries(filter, sort, descending, afterUsername, afterId, pageSize);
+    }
+
     @Override
     public UserModel create(UserModel user) {
         String hashedPassword = passwordEncoder.encode(user.getPassword());
@@ -84,43 +127,132 @@ public class UsersDataService implements DataAccessInterface<UserModel>, UserDet
         );
 
         UserEntity savedEntity = usersRepository.save(userEntity);
+        // drop a cached "not found" for this name
+        evictUser(savedEntity.getId(), savedEntity.getUsername());
         return Mapper.toModel(savedEntity);
     }
 
+    // one targeted UPDATE per edit instead of findById + full-row save: a blank password leaves the stored
+    // hash alone rather than reading it back to write it again. Not a transaction, so no connection is held
+    // while BCrypt runs; the version in the WHERE clause keeps a stale form from overwriting anything.
     @Override
     public UserModel update(UserModel user) {
-        UserEntity existingEntity = usersRepository.findById(user.getId()).orElse(null);
-        if (existingEntity == null) {
-            return null;
+        if (user.getVersion() == null) {
+            throw new OptimisticLockingFailureException("User " + user.getId() + " was submitted without a version");
         }
 
-        // Use existing password if new password is empty or null
         String password = user.getPassword();
-        if (password == null || password.trim().isEmpty()) {
-            password = existingEntity.getPassword();
-        } else if (!password.startsWith("$2a$")) {
-            password = passwordEncoder.encode(password);
+        int updated;
+        try {
+            if (password == null || password.trim().isEmpty()) {
+                password = null;
+                updated = usersRepository.updateProfile(user.getId(), user.getUsername(), user.getRole(),
+                        user.isEnabled(), user.getVersion());
+            } else {
+                if (!password.startsWith("$2a$")) {
+                    password = passwordEncoder.encode(password);
+                }
+                updated = usersRepository.updateProfileAndPassword(user.getId(), user.getUsername(), password,
+                        user.getRole(), user.isEnabled(), user.getVersion());
+            }
+        } finally {
+            evictUser(user.getId(), user.getUsername());
+        }
+        if (updated == 0) {
+            throw new OptimisticLockingFailureException(
+                    "User " + user.getId() + " was changed or deleted since it was loaded");
         }
+        // password is null when it was left unchanged
+        return new UserModel(user.getId(), user.getUsername(), password, user.getRole(), user.isEnabled(),
+                user.getVersion() + 1);
+    }
 
-        UserEntity userEntity = new UserEntity(
-                user.getId(),
-                user.getUsername(),
-                password,
-                user.getRole(),
-                user.isEnabled()
-        );
+    // admin bulk actions: one set-based statement in one transaction, however many users match
+    @Transactional
+    public int setEnabled(List<Integer> ids, UserFilterModel filter, String exceptUsername, boolean enabled) {
+        int changed = usersRepository.setEnabled(ids, filter, exceptUsername, enabled);
+        clearUsersCache();
+        return changed;
+    }
 
-        UserEntity savedEntity = usersRepository.save(userEntity);
-        return Mapper.toModel(savedEntity);
+    @Transactional
+    public int setRole(List<Integer> ids, UserFilterModel filter, String exceptUsername, String role) {
+        int changed = usersRepository.setRole(ids, filter, exceptUsername, role);
+        clearUsersCache();
+        return changed;
+    }
+
+    @Transactional(readOnly = true)
+    public int countMatching(List<Integer> ids, UserFilterModel filter, String exceptUsername) {
+        return usersRepository.countMatching(ids, filter, exceptUsername);
+    }
+
+    @Transactional
+    public int deleteMatching(List<Integer> ids, UserFilterModel filter, String exceptUsername) {
+        int deleted = usersRepository.deleteMatching(ids, filter, exceptUsername);
+        clearUsersCache();
+        return deleted;
     }
 
     @Override
     public boolean deleteById(int id) {
         usersRepository.deleteById(id);
+        evictUser(id, null);
         return true;
     }
 
     public boolean usernameExists(String username) {
-        return usersRepository.findByUsername(username).isPresent();
+        return findByUsername(username).isPresent();
+    }
+
+    // login and registration both look users up by name, so those lookups go through the users cache
+    private Optional<UserEntity> findByUsername(String username) {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        if (cache == null) {
+            return usersRepository.findByUsername(username);
+        }
+        return Optional.ofNullable(cache.get(username, () -> {
+            UserEntity userEntity = usersRepository.findByUsername(username).orElse(null);
+            if (userEntity != null) {
+                cachedUsernames.computeIfAbsent(userEntity.getId(), id -> ConcurrentHashMap.newKeySet()).add(username);
+            }
+            return userEntity;
+        }));
+    }
+
+    // removes the user from the cache so a disabled or demoted account takes effect on the next login
+    private void evictUser(int id, String username) {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        if (username != null) {
+            cache.evict(username);
+        }
+        // the user may be cached under its old name, or under another spelling the database matched
+        Set<String> keys = cachedUsernames.remove(id);
+        if (keys != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+
+    // a bulk change does not know which usernames it touched, so the whole cache goes; and again after commit,
+    // since a login in between could re-cache a row as it was before this transaction
+    private void clearUsersCache() {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        cache.clear();
+        cachedUsernames.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.clear();
+                    cachedUsernames.clear();
+                }
+            });
+        }
     }
 }
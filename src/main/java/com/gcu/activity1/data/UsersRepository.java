@@ -1,13 +1,45 @@
 package com.gcu.activity1.data;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 // Comment for commit since i already did this
 @Repository
-public interface UsersRepository extends CrudRepository<UserEntity, Integer> {
+public interface UsersRepository extends CrudRepository<UserEntity, Integer>, UserBulkRepository,
+        UserListRepository {
 
+    // the only database read behind login; a read-only transaction of its own, so it can go to the replica
+    // while a cache hit in UsersDataService touches no connection at all
+    @Transactional(readOnly = true)
     Optional<UserEntity> findByUsername(String username);
+
+    // list views read only the listed columns, never the password hashes
+    @Query("SELECT ID, USERNAME, ROLE, ENABLED FROM USERS ORDER BY ID")
+    List<UserListItem> findAllListItems();
+
+    @Query("SELECT ID, USERNAME, ROLE, ENABLED FROM USERS WHERE ID > :afterId ORDER BY ID LIMIT :limit")
+    List<UserListItem> findListPageAfter(int afterId, int limit);
+
+    // admin edits: only the columns the form changes, in one statement with no read first.
+    // Both check and bump VERSION; 0 rows updated means the user was changed or deleted in the meantime.
+    // Declared queries get no transaction by default; a read-write one marks the write for ReadYourWrites.
+    @Modifying
+    @Transactional
+    @Query("UPDATE USERS SET USERNAME = :username, ROLE = :role, ENABLED = :enabled, VERSION = VERSION + 1 "
+            + "WHERE ID = :id AND VERSION = :version")
+    int updateProfile(int id, String username, String role, boolean enabled, int version);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE USERS SET USERNAME = :username, PASSWORD = :password, ROLE = :role, ENABLED = :enabled, "
+            + "VERSION = VERSION + 1 WHERE ID = :id AND VERSION = :version")
+    int updateProfileAndPassword(int id, String username, String password, String role, boolean enabled,
+            int version);
+
 }
@@ -0,0 +1,77 @@
+package com.gcu.activity1.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResult {
+
+    // only the first errors are listed; errorCount keeps the full total
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long rowsRead;
+    private long rowsImported;
+    private long errorCount;
+    private List<RowError> errors = new ArrayList<>();
+    private long elapsedMillis;
+
+    public void rowRead() {
+        rowsRead++;
+    }
+
+    public void rowsImported(int count) {
+        rowsImported += count;
+    }
+
+    public void addError(long row, String message) {
+        errorCount++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? rowsImported : rowsImported * 1000.0 / elapsedMillis;
+    }
+
+    public static class RowError {
+        private final long row;
+        private final String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -1,18 +1,80 @@
 package com.gcu.activity1.models;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.gcu.activity1.data.OrderEntity;
+import com.gcu.activity1.data.OrderLineEntity;
+import com.gcu.activity1.data.OrderLineItem;
+import com.gcu.activity1.data.OrderListItem;
 import com.gcu.activity1.data.UserEntity;
+import com.gcu.activity1.data.UserListItem;
 
 public class Mapper {
 
     public static OrderModel toModel(OrderEntity orderEntity) {
-        return new OrderModel(orderEntity.getId(), orderEntity.getOrder_number(), orderEntity.getProduct_name(),
-                orderEntity.getPrice(), orderEntity.getQuantity());
+        OrderModel orderModel = new OrderModel(orderEntity.getId(), orderEntity.getOrder_number(),
+                orderEntity.getProduct_name(), orderEntity.getPrice(), orderEntity.getQuantity(),
+                orderEntity.getVersion());
+        for (OrderLineEntity line : orderEntity.getLines()) {
+            orderModel.getLines().add(new OrderLineModel(line.getProduct_name(), line.getPrice(), line.getQuantity()));
+        }
+        return orderModel;
+    }
+
+    public static OrderLineModel toModel(OrderLineItem orderLineItem) {
+        return new OrderLineModel(orderLineItem.product_name(), orderLineItem.price(), orderLineItem.quantity());
+    }
+
+    // list projection: no version, so the result cannot be saved back
+    public static OrderModel toModel(OrderListItem orderListItem) {
+        return new OrderModel(orderListItem.id(), orderListItem.order_number(), orderListItem.product_name(),
+                orderListItem.price(), orderListItem.quantity());
+    }
+
+    // a separate order with its own lines (Money is immutable, so it is shared)
+    public static OrderModel copyOf(OrderModel orderModel) {
+        OrderModel copy = new OrderModel(orderModel.getId(), orderModel.getOrder_number(),
+                orderModel.getProduct_name(), orderModel.getPrice(), orderModel.getQuantity(),
+                orderModel.getVersion());
+        for (OrderLineModel line : orderModel.getLines()) {
+            copy.getLines().add(new OrderLineModel(line.getProduct_name(), line.getPrice(), line.getQuantity()));
+        }
+        return copy;
     }
 
+    // the ORDERS row always carries a copy of the first line
     public static OrderEntity toEntity(OrderModel orderModel) {
-        return new OrderEntity(orderModel.getId(), orderModel.getOrder_number(), orderModel.getProduct_name(),
-                orderModel.getPrice(), orderModel.getQuantity());
+        List<OrderLineModel> lines = linesOf(orderModel);
+        OrderLineModel first = lines.get(0);
+        OrderEntity orderEntity = new OrderEntity(orderModel.getId(), orderModel.getOrder_number(),
+                first.getProduct_name(), first.getPrice(), first.getQuantity(), orderModel.getVersion());
+        List<OrderLineEntity> lineEntities = new ArrayList<>(lines.size());
+        for (OrderLineModel line : lines) {
+            lineEntities.add(new OrderLineEntity(line.getProduct_name(), line.getPrice(), line.getQuantity()));
+        }
+        orderEntity.setLines(lineEntities);
+        return orderEntity;
+    }
+
+    // the order row is a copy of the first line, so an order posted as lines only (the edit form, an import
+    // given as lines) validates and stores with that line's product, price and quantity
+    public static void copyFirstLine(OrderModel orderModel) {
+        if (!orderModel.getLines().isEmpty()) {
+            OrderLineModel first = orderModel.getLines().get(0);
+            orderModel.setProduct_name(first.getProduct_name());
+            orderModel.setPrice(first.getPrice());
+            orderModel.setQuantity(first.getQuantity());
+        }
+    }
+
+    // the lines to store: an order posted without lines is a single line of its own product, price and quantity
+    public static List<OrderLineModel> linesOf(OrderModel orderModel) {
+        if (orderModel.getLines().isEmpty()) {
+            return List.of(new OrderLineModel(orderModel.getProduct_name(), orderModel.getPrice(),
+                    orderModel.getQuantity()));
+        }
+        return orderModel.getLines();
     }
 
     public static UserModel toModel(UserEntity userEntity) {
@@ -21,7 +83,19 @@ public class Mapper {
                 userEntity.getUsername(),
                 userEntity.getPassword(),
                 userEntity.getRole(),
-                userEntity.isEnabled()
+                userEntity.isEnabled(),
+                userEntity.getVersion()
+        );
+    }
+
+    // list projection: no password hash and no version
+    public static UserModel toModel(UserListItem userListItem) {
+        return new UserModel(
+                userListItem.id(),
+                userListItem.username(),
+                null,
+                userListItem.role(),
+                userListItem.enabled()
         );
     }
 
@@ -31,7 +105,8 @@ public class Mapper {
                 userModel.getUsername(),
                 userModel.getPassword(),
                 userModel.getRole(),
-                userModel.isEnabled()
+                userModel.isEnabled(),
+                userModel.getVersion()
         );
     }
 
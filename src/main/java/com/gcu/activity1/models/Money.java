@@ -0,0 +1,109 @@
+package com.gcu.activity1.models;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+// Fixed-point amount: a whole number of minor units (cents for USD) plus the currency.
+// Sums and line totals are long arithmetic, so they are exact and allocate nothing but the result;
+// overflow throws instead of wrapping. Stored as a BIGINT of minor units (see config/JdbcConfig).
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    // ORDERS has no currency column: every stored amount is in this currency
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+
+    private static final long[] POWERS_OF_TEN = { 1, 10, 100, 1_000, 10_000 };
+
+    public Money {
+        if (currency == null) {
+            throw new IllegalArgumentException("Money needs a currency");
+        }
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    // exact: an amount with more decimal places than the currency has is rejected, never rounded
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal amount) {
+        return new Money(amount.movePointRight(scale(DEFAULT_CURRENCY)).longValueExact(), DEFAULT_CURRENCY);
+    }
+
+    // used by form binding and the CSV import; throws NumberFormatException for text that is not a number
+    public static Money valueOf(String text) {
+        return of(new BigDecimal(text.trim()));
+    }
+
+    // line total: price x quantity
+    public Money times(long quantity) {
+        return new Money(Math.multiplyExact(minorUnits, quantity), currency);
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    // rounded half away from zero to the nearest minor unit
+    public Money dividedBy(long divisor) {
+        long quotient = minorUnits / divisor;
+        long remainder = minorUnits % divisor;
+        if (Math.abs(remainder) * 2 >= Math.abs(divisor)) {
+            quotient += Long.signum(minorUnits) * Long.signum(divisor);
+        }
+        return new Money(quotient, currency);
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    // for display and JSON; allocates a BigDecimal, so keep it off the hot paths
+    @JsonValue
+    public BigDecimal amount() {
+        return BigDecimal.valueOf(minorUnits, scale(currency));
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    // plain decimal without a currency symbol ("1234.50"), as the forms and the CSV export expect
+    @Override
+    public String toString() {
+        int scale = scale(currency);
+        if (scale == 0) {
+            return Long.toString(minorUnits);
+        }
+        long unit = POWERS_OF_TEN[scale];
+        long whole = minorUnits / unit;
+        long fraction = Math.abs(minorUnits % unit);
+        StringBuilder text = new StringBuilder(24);
+        if (minorUnits < 0 && whole == 0) {
+            text.append('-');
+        }
+        text.append(whole).append('.');
+        for (long digit = unit / 10; digit > fraction && digit > 1; digit /= 10) {
+            text.append('0');
+        }
+        return text.append(fraction).toString();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot combine " + currency + " and " + other.currency);
+        }
+    }
+
+    // pseudo-currencies report -1 fraction digits; treat them as whole units
+    private static int scale(Currency currency) {
+        return Math.max(currency.getDefaultFractionDigits(), 0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.gcu.activity1.models;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+public class OrderLineModel {
+
+    @NotBlank(message = "Product name is required")
+    @Size(max = 255, message = "Product name must be at most 255 characters")
+    private String product_name;
+
+    @NotNull(message = "Price is required")
+    @PositiveOrZero(message = "Price cannot be negative")
+    private Money price;
+
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private int quantity;
+
+    public OrderLineModel(String product_name, Money price, int quantity) {
+        this.product_name = product_name;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    // default constructor with no fields (form binding and JSON import)
+    public OrderLineModel() {
+        this.product_name = "";
+        this.price = Money.ZERO;
+        this.quantity = 0;
+    }
+
+    // price x quantity
+    public Money getTotal() {
+        return price.times(quantity);
+    }
+
+    // standard getters and setters
+    public String getProduct_name() {
+        return product_name;
+    }
+
+    public void setProduct_name(String product_name) {
+        this.product_name = product_name;
+    }
+
+    public Money getPrice() {
+        return price;
+    }
+
+    public void setPrice(Money price) {
+        this.price = price;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
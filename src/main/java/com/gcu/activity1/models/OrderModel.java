@@ -1,19 +1,55 @@
 package com.gcu.activity1.models;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
 public class OrderModel {
     private int id;
+
+    @NotBlank(message = "Order number is required")
+    @Size(max = 50, message = "Order number must be at most 50 characters")
     private String order_number;
+
+    @NotBlank(message = "Product name is required")
+    @Size(max = 255, message = "Product name must be at most 255 characters")
     private String product_name;
-    private double price;
+
+    @NotNull(message = "Price is required")
+    @PositiveOrZero(message = "Price cannot be negative")
+    private Money price;
+
+    @Min(value = 1, message = "Quantity must be at least 1")
     private int quantity;
 
+    // version the order had when it was loaded; posted back by the edit form so a concurrent edit is detected
+    private Integer version;
+
+    // line items; product_name, price and quantity above are a copy of the first line.
+    // Empty when the order was posted without them (the new-order form, a JSON import without "lines"),
+    // in which case those fields are the order's only line
+    @Valid
+    private List<OrderLineModel> lines = new ArrayList<>();
+
     // default constructor with all fields
-    public OrderModel(int id, String order_number, String product_name, double price, int quantity) {
+    public OrderModel(int id, String order_number, String product_name, Money price, int quantity) {
+        this(id, order_number, product_name, price, quantity, null);
+    }
+
+    public OrderModel(int id, String order_number, String product_name, Money price, int quantity,
+            Integer version) {
         this.id = id;
         this.order_number = order_number;
         this.product_name = product_name;
         this.price = price;
         this.quantity = quantity;
+        this.version = version;
     }
 
     // default constructor with no fields
@@ -21,7 +57,7 @@ public class OrderModel {
         this.id = 0;
         this.order_number = "";
         this.product_name = "";
-        this.price = 0.0;
+        this.price = Money.ZERO;
         this.quantity = 0;
     }
 
@@ -50,11 +86,11 @@ public class OrderModel {
         this.product_name = product_name;
     }
 
-    public double getPrice() {
+    public Money getPrice() {
         return price;
     }
 
-    public void setPrice(double price) {
+    public void setPrice(Money price) {
         this.price = price;
     }
 
@@ -65,4 +101,32 @@ public class OrderModel {
     public void setQuantity(int quantity) {
         this.quantity = quantity;
     }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public List<OrderLineModel> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<OrderLineModel> lines) {
+        this.lines = lines;
+    }
+
+    // sum of the line totals
+    public Money getTotal() {
+        if (lines.isEmpty()) {
+            return price.times(quantity);
+        }
+        Money total = Money.ZERO;
+        for (OrderLineModel line : lines) {
+            total = total.plus(line.getTotal());
+        }
+        return total;
+    }
 }
@@ -0,0 +1,72 @@
+package com.gcu.activity1.models;
+
+// Filters for /orders/search; a null field means "no filter on this column"
+public class OrderSearchModel {
+    private String orderNumber;
+    private String productPrefix;
+    private Money minPrice;
+    private Money maxPrice;
+    private Integer minQuantity;
+    private Integer maxQuantity;
+
+    public OrderSearchModel() {
+    }
+
+    public OrderSearchModel(String orderNumber, String productPrefix, Money minPrice, Money maxPrice,
+            Integer minQuantity, Integer maxQuantity) {
+        this.orderNumber = orderNumber;
+        this.productPrefix = productPrefix;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.minQuantity = minQuantity;
+        this.maxQuantity = maxQuantity;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    public String getProductPrefix() {
+        return productPrefix;
+    }
+
+    public void setProductPrefix(String productPrefix) {
+        this.productPrefix = productPrefix;
+    }
+
+    public Money getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(Money minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public Money getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(Money maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public Integer getMinQuantity() {
+        return minQuantity;
+    }
+
+    public void setMinQuantity(Integer minQuantity) {
+        this.minQuantity = minQuantity;
+    }
+
+    public Integer getMaxQuantity() {
+        return maxQuantity;
+    }
+
+    public void setMaxQuantity(Integer maxQuantity) {
+        this.maxQuantity = maxQuantity;
+    }
+}
@@ -0,0 +1,90 @@
+package com.gcu.activity1.models;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Totals over the whole ORDERS table; order value is price x quantity, all amounts exact Money.
+// The percentiles are null when there are no orders.
+public class OrderStatsModel {
+    private long orderCount;
+    private long totalQuantity;
+    private Money totalRevenue = Money.ZERO;
+    private Money medianOrderValue;
+    private Money p90OrderValue;
+    private Money p99OrderValue;
+    private List<ProductStatsModel> topProducts = new ArrayList<>();
+    private Instant computedAt;
+
+    public OrderStatsModel() {
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(long totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
+    public Money getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public void setTotalRevenue(Money totalRevenue) {
+        this.totalRevenue = totalRevenue;
+    }
+
+    // rounded to the cent
+    public Money getAverageOrderValue() {
+        return orderCount == 0 ? Money.ZERO : totalRevenue.dividedBy(orderCount);
+    }
+
+    public Money getMedianOrderValue() {
+        return medianOrderValue;
+    }
+
+    public void setMedianOrderValue(Money medianOrderValue) {
+        this.medianOrderValue = medianOrderValue;
+    }
+
+    public Money getP90OrderValue() {
+        return p90OrderValue;
+    }
+
+    public void setP90OrderValue(Money p90OrderValue) {
+        this.p90OrderValue = p90OrderValue;
+    }
+
+    public Money getP99OrderValue() {
+        return p99OrderValue;
+    }
+
+    public void setP99OrderValue(Money p99OrderValue) {
+        this.p99OrderValue = p99OrderValue;
+    }
+
+    public List<ProductStatsModel> getTopProducts() {
+        return topProducts;
+    }
+
+    public void setTopProducts(List<ProductStatsModel> topProducts) {
+        this.topProducts = topProducts;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(Instant computedAt) {
+        this.computedAt = computedAt;
+    }
+}
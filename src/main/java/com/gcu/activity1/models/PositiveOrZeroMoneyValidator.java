@@ -0,0 +1,15 @@
+package com.gcu.activity1.models;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.PositiveOrZero;
+
+// Lets @PositiveOrZero apply to Money fields. Registered with Hibernate Validator through
+// META-INF/services/jakarta.validation.ConstraintValidator; null is left to @NotNull.
+public class PositiveOrZeroMoneyValidator implements ConstraintValidator<PositiveOrZero, Money> {
+
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+        return value == null || !value.isNegative();
+    }
+}
@@ -0,0 +1,51 @@
+package com.gcu.activity1.models;
+
+// One row of the "top products" table on the stats page
+public class ProductStatsModel {
+    private String productName;
+    private long orderCount;
+    private long quantity;
+    private Money revenue;
+
+    public ProductStatsModel() {
+    }
+
+    public ProductStatsModel(String productName, long orderCount, long quantity, Money revenue) {
+        this.productName = productName;
+        this.orderCount = orderCount;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+
+    public Money getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(Money revenue) {
+        this.revenue = revenue;
+    }
+}
@@ -0,0 +1,96 @@
+package com.gcu.activity1.models;
+
+import java.time.Instant;
+
+// One statement captured by the slow-query log (/admin/sql)
+public class SlowQueryModel {
+    private Instant executedAt;
+    private String threadName;
+    private String sql;
+    private int bindCount;
+    // rows read for a query, rows changed for an update; -1 when the statement failed
+    private long rows;
+    // statements in the batch, 0 for a single execution
+    private int batchSize;
+    private double durationMillis;
+    private String error;
+
+    public SlowQueryModel() {
+    }
+
+    public SlowQueryModel(Instant executedAt, String threadName, String sql, int bindCount, long rows,
+            int batchSize, double durationMillis, String error) {
+        this.executedAt = executedAt;
+        this.threadName = threadName;
+        this.sql = sql;
+        this.bindCount = bindCount;
+        this.rows = rows;
+        this.batchSize = batchSize;
+        this.durationMillis = durationMillis;
+        this.error = error;
+    }
+
+    public Instant getExecutedAt() {
+        return executedAt;
+    }
+
+    public void setExecutedAt(Instant executedAt) {
+        this.executedAt = executedAt;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public void setThreadName(String threadName) {
+        this.threadName = threadName;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public void setSql(String sql) {
+        this.sql = sql;
+    }
+
+    public int getBindCount() {
+        return bindCount;
+    }
+
+    public void setBindCount(int bindCount) {
+        this.bindCount = bindCount;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(double durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
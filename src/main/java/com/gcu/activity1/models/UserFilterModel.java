@@ -0,0 +1,31 @@
+package com.gcu.activity1.models;
+
+// Selects users for the admin bulk actions; a null or blank field means "no filter on this column"
+public class UserFilterModel {
+    private String usernamePrefix;
+    private String role;
+
+    public UserFilterModel() {
+    }
+
+    public UserFilterModel(String usernamePrefix, String role) {
+        this.usernamePrefix = usernamePrefix;
+        this.role = role;
+    }
+
+    public String getUsernamePrefix() {
+        return usernamePrefix;
+    }
+
+    public void setUsernamePrefix(String usernamePrefix) {
+        this.usernamePrefix = usernamePrefix;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+}
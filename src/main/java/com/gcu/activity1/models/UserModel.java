@@ -6,13 +6,20 @@ public class UserModel {
     private String password;
     private String role;
     private boolean enabled;
+    // version the user had when it was loaded; posted back by the admin edit form
+    private Integer version;
 
     public UserModel(int id, String username, String password, String role, boolean enabled) {
+        this(id, username, password, role, enabled, null);
+    }
+
+    public UserModel(int id, String username, String password, String role, boolean enabled, Integer version) {
         this.id = id;
         this.username = username;
         this.password = password;
         this.role = role;
         this.enabled = enabled;
+        this.version = version;
     }
 
     public UserModel() {
@@ -62,4 +69,12 @@ public class UserModel {
     public void setEnabled(boolean enabled) {
         this.enabled = enabled;
     }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,8 @@
+-- Indexes backing /orders/search (OrderSearchRepositoryImpl).
+-- InnoDB secondary indexes carry the primary key, so an equality match on ORDER_NUMBER
+-- is already ordered by ID and the keyset "ID > ? ORDER BY ID LIMIT ?" stays a seek.
+CREATE INDEX IX_ORDERS_ORDER_NUMBER ON ORDERS (ORDER_NUMBER);
+-- prefix LIKE 'abc%' is a range scan on this index
+CREATE INDEX IX_ORDERS_PRODUCT_NAME ON ORDERS (PRODUCT_NAME);
+CREATE INDEX IX_ORDERS_PRICE ON ORDERS (PRICE);
+CREATE INDEX IX_ORDERS_QTY ON ORDERS (QTY);
@@ -0,0 +1,5 @@
+-- Order numbers are the key integrations use (OrdersRepository.findByOrderNumber).
+-- The unique index replaces the plain one from 001; find duplicates first with
+--   SELECT ORDER_NUMBER, COUNT(*) FROM ORDERS GROUP BY ORDER_NUMBER HAVING COUNT(*) > 1;
+DROP INDEX IX_ORDERS_ORDER_NUMBER ON ORDERS;
+CREATE UNIQUE INDEX UX_ORDERS_ORDER_NUMBER ON ORDERS (ORDER_NUMBER);
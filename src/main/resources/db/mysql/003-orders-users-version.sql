@@ -0,0 +1,5 @@
+-- Optimistic locking (@Version on OrderEntity and UserEntity): every UPDATE runs
+--   ... SET ..., VERSION = VERSION + 1 WHERE ID = ? AND VERSION = ?
+-- and an update that matches no row is a concurrent edit. Existing rows start at 0.
+ALTER TABLE ORDERS ADD COLUMN VERSION INT NOT NULL DEFAULT 0;
+ALTER TABLE USERS ADD COLUMN VERSION INT NOT NULL DEFAULT 0;
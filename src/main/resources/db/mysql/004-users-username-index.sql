@@ -0,0 +1,5 @@
+-- Backs the admin user list (UserListRepositoryImpl): sorting by username and username-prefix search.
+-- InnoDB secondary indexes carry the primary key, so this is effectively (USERNAME, ID), which is
+-- the keyset the list pages on. Login lookups (UsersRepository.findByUsername) use it too.
+-- Skip this script if USERNAME already has a unique index.
+CREATE INDEX IX_USERS_USERNAME ON USERS (USERNAME);
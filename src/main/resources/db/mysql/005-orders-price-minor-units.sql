@@ -0,0 +1,7 @@
+-- Prices as a whole number of minor units (cents) instead of a DOUBLE, read and written as Money:
+-- SUM(PRICE_MINOR * QTY) is an exact BIGINT. Existing prices are rounded to the cent once, here.
+-- Dropping PRICE also drops IX_ORDERS_PRICE (001); the search range index moves to the new column.
+ALTER TABLE ORDERS ADD COLUMN PRICE_MINOR BIGINT NOT NULL DEFAULT 0;
+UPDATE ORDERS SET PRICE_MINOR = ROUND(PRICE * 100);
+ALTER TABLE ORDERS DROP COLUMN PRICE;
+CREATE INDEX IX_ORDERS_PRICE_MINOR ON ORDERS (PRICE_MINOR);
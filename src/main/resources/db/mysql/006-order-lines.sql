@@ -0,0 +1,16 @@
+-- Line items: an order is the aggregate of its ORDERS row (the root) and its ORDER_LINES, which
+-- Spring Data JDBC saves and deletes together (OrderEntity.lines). LINE_NO is the position in the order,
+-- and the (ORDER_ID, LINE_NO) primary key is what the batched IN (...) load of a page's lines seeks on.
+-- The ORDERS product, price and quantity columns stay as a copy of line 0 for the list, search and export.
+-- Every existing order becomes a single-line order.
+CREATE TABLE ORDER_LINES (
+    ORDER_ID INT NOT NULL,
+    LINE_NO INT NOT NULL,
+    PRODUCT_NAME VARCHAR(255) NOT NULL,
+    PRICE_MINOR BIGINT NOT NULL,
+    QTY INT NOT NULL,
+    PRIMARY KEY (ORDER_ID, LINE_NO),
+    CONSTRAINT FK_ORDER_LINES_ORDER FOREIGN KEY (ORDER_ID) REFERENCES ORDERS (ID) ON DELETE CASCADE
+);
+INSERT INTO ORDER_LINES (ORDER_ID, LINE_NO, PRODUCT_NAME, PRICE_MINOR, QTY)
+SELECT ID, 0, COALESCE(PRODUCT_NAME, ''), PRICE_MINOR, COALESCE(QTY, 0) FROM ORDERS;
@@ -0,0 +1,12 @@
+-- /orders/search matches product, price and quantity on any line of an order (an EXISTS on ORDER_LINES),
+-- not on the first-line copy in ORDERS. MySQL 8.0.16+ plans that EXISTS as a semijoin, so a selective
+-- filter can start from one of these indexes; each ends in ORDER_ID, so the matching orders come out of
+-- the index without touching the lines themselves.
+CREATE INDEX IX_ORDER_LINES_PRODUCT_NAME ON ORDER_LINES (PRODUCT_NAME, ORDER_ID);
+CREATE INDEX IX_ORDER_LINES_PRICE_MINOR ON ORDER_LINES (PRICE_MINOR, ORDER_ID);
+CREATE INDEX IX_ORDER_LINES_QTY ON ORDER_LINES (QTY, ORDER_ID);
+-- The ORDERS indexes on PRODUCT_NAME, QTY (001) and PRICE_MINOR (005) served the search on the first-line
+-- copy, which nothing filters on any more; they would only slow every insert and import down.
+DROP INDEX IX_ORDERS_PRODUCT_NAME ON ORDERS;
+DROP INDEX IX_ORDERS_QTY ON ORDERS;
+DROP INDEX IX_ORDERS_PRICE_MINOR ON ORDERS;
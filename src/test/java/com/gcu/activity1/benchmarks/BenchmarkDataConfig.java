@@ -0,0 +1,88 @@
+package com.gcu.activity1.benchmarks;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jdbc.autoconfigure.DataJdbcRepositoriesAutoConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.jdbc.repository.config.EnableJdbcRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.gcu.activity1.config.JdbcConfig;
+import com.gcu.activity1.data.OrdersDataService;
+import com.gcu.activity1.data.OrdersRepository;
+import com.gcu.activity1.data.UsersDataService;
+
+// The real repositories and data services over an in-memory H2 database (db/h2/schema.sql),
+// without the web layer or MySQL. Each benchmark trial starts its own context.
+// Deliberately not a @Configuration: it sits under com.gcu.activity1, and component scanning in
+// @SpringBootTest or the load test would otherwise pick up its beans.
+@EnableJdbcRepositories(basePackageClasses = OrdersRepository.class)
+@ImportAutoConfiguration(DataJdbcRepositoriesAutoConfiguration.class)
+@Import({ JdbcConfig.class, OrdersDataService.class, UsersDataService.class })
+class BenchmarkDataConfig {
+
+    static AnnotationConfigApplicationContext start(CacheManager cacheManager) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(CacheManager.class, () -> cacheManager);
+        context.register(BenchmarkDataConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    // pooled like the application, so a query is not charged for opening a connection
+    @Bean(destroyMethod = "close")
+    HikariDataSource dataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        new ResourceDatabasePopulator(new ClassPathResource("db/h2/schema.sql"),
+                new ClassPathResource("db/mysql/003-orders-users-version.sql"),
+                new ClassPathResource("db/mysql/005-orders-price-minor-units.sql"),
+                new ClassPathResource("db/mysql/006-order-lines.sql")).execute(dataSource);
+        return dataSource;
+    }
+
+    @Bean
+    JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    @Bean
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate(JdbcTemplate jdbcTemplate) {
+        return new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Bean
+    PlatformTransactionManager transactionManager(DataSource dataSource) {
+        return new DataSourceTransactionManager(dataSource);
+    }
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    // only needed to satisfy UsersDataService; hashing has its own benchmark
+    @Bean
+    PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder(4);
+    }
+}
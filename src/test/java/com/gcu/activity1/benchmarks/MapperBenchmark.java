@@ -0,0 +1,41 @@
+package com.gcu.activity1.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gcu.activity1.data.OrderEntity;
+import com.gcu.activity1.models.Mapper;
+import com.gcu.activity1.models.Money;
+import com.gcu.activity1.models.OrderModel;
+
+// Per-row cost of the entity <-> model copies done on every list and save.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    private final OrderEntity entity = new OrderEntity(42, "ORD-42", "Widget", Money.ofMinor(999), 3);
+    private final OrderModel model = new OrderModel(42, "ORD-42", "Widget", Money.ofMinor(999), 3);
+
+    @Benchmark
+    public OrderModel toModel() {
+        return Mapper.toModel(entity);
+    }
+
+    @Benchmark
+    public OrderEntity toEntity() {
+        return Mapper.toEntity(model);
+    }
+}
@@ -0,0 +1,123 @@
+package com.gcu.activity1.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.gcu.activity1.data.OrderEntity;
+import com.gcu.activity1.data.OrderSearchRepositoryImpl;
+import com.gcu.activity1.models.Money;
+import com.gcu.activity1.models.OrderSearchModel;
+
+// Search latency over 1M single-line orders, with and without the indexes from
+// db/mysql/001-orders-search-indexes.sql and 007-order-lines-search-indexes.sql. Runs against H2 in MySQL
+// mode, so absolute numbers are lower than on a real server; the gap between indexed=true and indexed=false
+// is the point. H2 does not turn a bound "LIKE ?" or the EXISTS on ORDER_LINES into an index range, so the
+// line filters show little gain here; MySQL plans the EXISTS as a semijoin over IX_ORDER_LINES_*.
+//   mvn -Pbenchmark test-compile exec:exec -Djmh.args="OrderSearchBenchmark -f 1"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OrderSearchBenchmark {
+
+    @Param({ "1000000" })
+    public int rows;
+
+    @Param({ "true", "false" })
+    public boolean indexed;
+
+    private SingleConnectionDataSource dataSource;
+    private OrderSearchRepositoryImpl repository;
+
+    private final OrderSearchModel byOrderNumber = new OrderSearchModel();
+    private final OrderSearchModel byProductPrefix = new OrderSearchModel();
+    private final OrderSearchModel byPriceRange = new OrderSearchModel();
+    private final OrderSearchModel combined = new OrderSearchModel();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // one reused connection, so the numbers are query time rather than connect time
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:search" + indexed + ";MODE=MySQL;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE", "sa", "", true);
+        new ResourceDatabasePopulator(new ClassPathResource("db/h2/schema.sql")).execute(dataSource);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("DELETE FROM ORDERS");
+        // ~1000 distinct products, prices 0.00-999.99 and quantities 1-100
+        jdbc.update("INSERT INTO ORDERS (ORDER_NUMBER, PRODUCT_NAME, PRICE, QTY) "
+                + "SELECT 'ORD-' || X, 'Product-' || MOD(X * 7919, 1000), MOD(X * 31, 100000) / 100.0, "
+                + "MOD(X, 100) + 1 FROM SYSTEM_RANGE(1, ?)", rows);
+        // the production migrations: PRICE_MINOR, each order copied into its line 0, and the search indexes
+        // ending up on ORDER_NUMBER and the ORDER_LINES columns (007 drops the first-line copy's ones)
+        new ResourceDatabasePopulator(new ClassPathResource("db/mysql/001-orders-search-indexes.sql"),
+                new ClassPathResource("db/mysql/005-orders-price-minor-units.sql"),
+                new ClassPathResource("db/mysql/006-order-lines.sql"),
+                new ClassPathResource("db/mysql/007-order-lines-search-indexes.sql")).execute(dataSource);
+        if (!indexed) {
+            jdbc.execute("DROP INDEX IX_ORDERS_ORDER_NUMBER ON ORDERS");
+            jdbc.execute("DROP INDEX IX_ORDER_LINES_PRODUCT_NAME ON ORDER_LINES");
+            jdbc.execute("DROP INDEX IX_ORDER_LINES_PRICE_MINOR ON ORDER_LINES");
+            jdbc.execute("DROP INDEX IX_ORDER_LINES_QTY ON ORDER_LINES");
+        }
+        jdbc.execute("ANALYZE");
+
+        repository = new OrderSearchRepositoryImpl(new NamedParameterJdbcTemplate(dataSource));
+
+        // selective filters: a full scan can only stop early once it has found a whole page,
+        // so dense matches (e.g. "Product-1") look cheap either way
+        byOrderNumber.setOrderNumber("ORD-" + (rows / 2));
+        byProductPrefix.setProductPrefix("Product-427");
+        byPriceRange.setMinPrice(Money.valueOf("100.00"));
+        byPriceRange.setMaxPrice(Money.valueOf("100.03"));
+        combined.setProductPrefix("Product-427");
+        combined.setMaxPrice(Money.valueOf("100.00"));
+        combined.setMinQuantity(90);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public List<OrderEntity> orderNumber() {
+        return repository.search(byOrderNumber, 0, 50);
+    }
+
+    @Benchmark
+    public List<OrderEntity> productPrefix() {
+        return repository.search(byProductPrefix, 0, 50);
+    }
+
+    @Benchmark
+    public List<OrderEntity> priceRange() {
+        return repository.search(byPriceRange, 0, 50);
+    }
+
+    @Benchmark
+    public List<OrderEntity> combined() {
+        return repository.search(combined, 0, 50);
+    }
+}
@@ -0,0 +1,104 @@
+package com.gcu.activity1.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gcu.activity1.data.OrderEntity;
+import com.gcu.activity1.data.OrdersDataService;
+import com.gcu.activity1.data.OrdersRepository;
+import com.gcu.activity1.models.Mapper;
+import com.gcu.activity1.models.OrderModel;
+
+// OrdersDataService.getAll against the table sizes in "rows", with getPage alongside for scale.
+// getAllViaEntities is the old path (repository entities copied by Mapper), kept to compare against
+// the ResultSet mappers; add -prof gc and divide gc.alloc.rate.norm by rows for the per-row allocation.
+// Every order has two lines. getFirstPage loads them with one batched query, getFirstPageViaAggregates
+// with one query per order; both entity paths pay that per-order query.
+//   mvn -Pbenchmark test-compile exec:exec -Djmh.args="OrdersDataServiceBenchmark -p rows=1000,100000"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OrdersDataServiceBenchmark {
+
+    private static final List<Integer> FIRST_PAGE_IDS = IntStream.rangeClosed(1, 50).boxed().toList();
+
+    @Param({ "1000", "10000", "100000" })
+    public int rows;
+
+    private AnnotationConfigApplicationContext context;
+    private OrdersDataService ordersDataService;
+    private OrdersRepository ordersRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataConfig.start(new NoOpCacheManager());
+        JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+        jdbc.update("INSERT INTO ORDERS (ORDER_NUMBER, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "SELECT 'ORD-' || X, 'Product-' || MOD(X, 1000), MOD(X, 10000), MOD(X, 10) + 1 "
+                + "FROM SYSTEM_RANGE(1, ?)", rows);
+        // two lines per order: the first mirrors the ORDERS row
+        jdbc.update("INSERT INTO ORDER_LINES (ORDER_ID, LINE_NO, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "SELECT ID, 0, PRODUCT_NAME, PRICE_MINOR, QTY FROM ORDERS");
+        jdbc.update("INSERT INTO ORDER_LINES (ORDER_ID, LINE_NO, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "SELECT ID, 1, 'Accessory', 250, 1 FROM ORDERS");
+        ordersDataService = context.getBean(OrdersDataService.class);
+        ordersRepository = context.getBean(OrdersRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Iterable<OrderModel> getAll() {
+        return ordersDataService.getAll();
+    }
+
+    @Benchmark
+    public List<OrderModel> getAllViaEntities() {
+        ArrayList<OrderModel> orderModels = new ArrayList<OrderModel>();
+        for (OrderEntity orderEntity : ordersRepository.findAll()) {
+            orderModels.add(Mapper.toModel(orderEntity));
+        }
+        return orderModels;
+    }
+
+    @Benchmark
+    public List<OrderModel> getFirstPage() {
+        return ordersDataService.getPage(0, 50);
+    }
+
+    @Benchmark
+    public List<OrderModel> getFirstPageViaAggregates() {
+        ArrayList<OrderModel> orderModels = new ArrayList<OrderModel>(FIRST_PAGE_IDS.size());
+        for (OrderEntity orderEntity : ordersRepository.findAllById(FIRST_PAGE_IDS)) {
+            orderModels.add(Mapper.toModel(orderEntity));
+        }
+        return orderModels;
+    }
+}
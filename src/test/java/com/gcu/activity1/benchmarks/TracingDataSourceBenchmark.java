@@ -0,0 +1,83 @@
+package com.gcu.activity1.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.gcu.activity1.config.SlowQueryLog;
+import com.gcu.activity1.config.TracingDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Cost of TracingDataSource on the fast path: a single-row lookup and a 50-row page
+// through JdbcTemplate, with and without the proxy (threshold high enough that nothing is kept).
+//   mvn -Pbenchmark test-compile exec:exec -Djmh.args="TracingDataSourceBenchmark -f 1"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TracingDataSourceBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean traced;
+
+    private SingleConnectionDataSource target;
+    private JdbcTemplate jdbc;
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        target = new SingleConnectionDataSource(
+                "jdbc:h2:mem:tracing" + traced + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "", true);
+        new ResourceDatabasePopulator(new ClassPathResource("db/h2/schema.sql")).execute(target);
+        JdbcTemplate setup = new JdbcTemplate(target);
+        setup.update("DELETE FROM ORDERS");
+        setup.update("INSERT INTO ORDERS (ORDER_NUMBER, PRODUCT_NAME, PRICE, QTY) "
+                + "SELECT 'ORD-' || X, 'Product-' || MOD(X, 100), MOD(X, 1000) / 10.0, MOD(X, 10) + 1 "
+                + "FROM SYSTEM_RANGE(1, 10000)");
+
+        DataSource dataSource = traced
+                ? new TracingDataSource(target, new SlowQueryLog(60_000, 100, new SimpleMeterRegistry()))
+                : target;
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        target.destroy();
+    }
+
+    @Benchmark
+    public String findById() {
+        nextId = nextId % 10000 + 1;
+        return jdbc.queryForObject("SELECT ORDER_NUMBER FROM ORDERS WHERE ID = ?", String.class, nextId);
+    }
+
+    @Benchmark
+    public List<String> page() {
+        nextId = nextId % 9950 + 1;
+        return jdbc.queryForList("SELECT ORDER_NUMBER FROM ORDERS WHERE ID > ? ORDER BY ID LIMIT 50",
+                String.class, nextId);
+    }
+}
@@ -0,0 +1,70 @@
+package com.gcu.activity1.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.gcu.activity1.config.CacheConfig;
+import com.gcu.activity1.data.UsersDataService;
+
+// UsersDataService.loadUserByUsername, the lookup behind every login, with the users cache
+// on (cached=true, steady-state hits) and off (every call reaches the database).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UsersDataServiceBenchmark {
+
+    @Param({ "10000" })
+    public int users;
+
+    @Param({ "true", "false" })
+    public boolean cached;
+
+    private AnnotationConfigApplicationContext context;
+    private UsersDataService usersDataService;
+    private String username;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataConfig.start(cached
+                ? new CaffeineCacheManager(CacheConfig.USERS_CACHE)
+                : new NoOpCacheManager());
+        new JdbcTemplate(context.getBean(DataSource.class)).update(
+                "INSERT INTO USERS (USERNAME, PASSWORD, ROLE, ENABLED) "
+                + "SELECT 'user' || X, '{noop}password', 'ROLE_USER', TRUE FROM SYSTEM_RANGE(1, ?)", users);
+        usersDataService = context.getBean(UsersDataService.class);
+        username = "user" + (users / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return usersDataService.loadUserByUsername(username);
+    }
+}
@@ -0,0 +1,185 @@
+package com.gcu.activity1.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.gcu.activity1.data.OrderExportService;
+import com.gcu.activity1.data.OrdersDataService;
+import com.gcu.activity1.models.OrderModel;
+
+import jakarta.validation.Validation;
+
+// The order edit form, which posts lines only (plus a blank spare row), which list ?stream selects, and the
+// export endpoint's headers and gzip wrapping; no Spring context or database is needed. OrderExportServiceTests covers the content.
+class OrdersControllerTests {
+
+    private OrdersDataService ordersDataService;
+    private OrderExportService orderExportService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ordersDataService = mock(OrdersDataService.class);
+        OrdersController controller = new OrdersController(ordersDataService,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        orderExportService = mock(OrderExportService.class);
+        ReflectionTestUtils.setField(controller, "orderExportService", orderExportService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    // an order with two lines, the second as given, plus the form's spare row left blank
+    private static MockHttpServletRequestBuilder edit(String price, String quantity) {
+        return post("/orders/processEditOrder")
+                .param("id", "7").param("version", "1").param("order_number", "N-7")
+                .param("lines[0].product_name", "Widget").param("lines[0].price", "2.50")
+                .param("lines[0].quantity", "3")
+                .param("lines[1].product_name", "Gadget").param("lines[1].price", price)
+                .param("lines[1].quantity", quantity)
+                .param("lines[2].product_name", "").param("lines[2].price", "0.00")
+                .param("lines[2].quantity", "1");
+    }
+
+    @Test
+    void showAllOrders_StreamTrue_StreamsEveryOrder() throws Exception {
+        when(ordersDataService.streamAll()).thenReturn(Stream.empty());
+
+        mockMvc.perform(get("/orders").param("stream", "true"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("streaming", true));
+
+        verify(ordersDataService).streamAll();
+        verify(ordersDataService, never()).getPage(anyInt(), anyInt());
+    }
+
+    @Test
+    void showAllOrders_StreamFalse_ShowsFirstPage() throws Exception {
+        mockMvc.perform(get("/orders").param("stream", "false"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeDoesNotExist("streaming"));
+
+        verify(ordersDataService).getPage(eq(0), anyInt());
+        verify(ordersDataService, never()).streamAll();
+    }
+
+    @Test
+    void doUpdate_ValidLines_SavesWithoutSpareRow() throws Exception {
+        mockMvc.perform(edit("1.00", "2"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/orders"));
+
+        verify(ordersDataService).update(argThat(order -> order.getLines().size() == 2
+                && "Widget".equals(order.getProduct_name()) && order.getQuantity() == 3));
+    }
+
+    @Test
+    void doUpdate_LineWithZeroQuantity_IsRejected() throws Exception {
+        mockMvc.perform(edit("1.00", "0"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("editOrder"))
+                .andExpect(model().attributeHasFieldErrors("order", "lines[1].quantity"))
+                .andExpect(model().errorCount(1));
+
+        verify(ordersDataService, never()).update(any(OrderModel.class));
+    }
+
+    @Test
+    void doUpdate_LineWithNegativePrice_IsRejected() throws Exception {
+        mockMvc.perform(edit("-1.00", "2"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("editOrder"))
+                .andExpect(model().attributeHasFieldErrors("order", "lines[1].price"));
+
+        verify(ordersDataService, never()).update(any(OrderModel.class));
+    }
+
+    @Test
+    void doUpdate_FirstLineInvalid_ReportedOnceOnTheLine() throws Exception {
+        // the order row mirrors the first line, but the error belongs to the line the user typed
+        mockMvc.perform(post("/orders/processEditOrder")
+                        .param("id", "7").param("version", "1").param("order_number", "N-7")
+                        .param("lines[0].product_name", "Widget").param("lines[0].price", "2.50")
+                        .param("lines[0].quantity", "0"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeHasFieldErrors("order", "lines[0].quantity"))
+                .andExpect(model().errorCount(1));
+
+        verify(ordersDataService, never()).update(any(OrderModel.class));
+    }
+
+    @Test
+    void doUpdate_NoLines_IsRejected() throws Exception {
+        mockMvc.perform(post("/orders/processEditOrder")
+                        .param("id", "7").param("version", "1").param("order_number", "N-7")
+                        .param("lines[0].product_name", "").param("lines[0].price", "0.00")
+                        .param("lines[0].quantity", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("editOrder"))
+                .andExpect(model().attributeHasErrors("order"));
+
+        verify(ordersDataService, never()).update(any(OrderModel.class));
+    }
+
+    @Test
+    void exportOrders_DefaultsToCsvAttachment() throws Exception {
+        doAnswer(invocation -> writeTo(invocation.getArgument(0), "id,order_number\n1,E-1\n"))
+                .when(orderExportService).writeCsv(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/orders/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\""))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+
+        assertEquals("id,order_number\n1,E-1\n", result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+        verify(orderExportService, never()).writeNdjson(any(OutputStream.class));
+    }
+
+    @Test
+    void exportOrders_NdjsonGzip_IsCompressedWithContentEncoding() throws Exception {
+        doAnswer(invocation -> writeTo(invocation.getArgument(0), "{\"id\":1}\n{\"id\":2}\n"))
+                .when(orderExportService).writeNdjson(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/orders/export").param("format", "ndjson").param("gzip", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders.ndjson.gz\""))
+                .andReturn();
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertEquals("{\"id\":1}\n{\"id\":2}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        verify(orderExportService, never()).writeCsv(any(OutputStream.class));
+    }
+
+    private static Object writeTo(OutputStream out, String body) throws IOException {
+        out.write(body.getBytes(StandardCharsets.UTF_8));
+        return null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.gcu.activity1.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.security.Principal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.gcu.activity1.data.UsersDataService;
+import com.gcu.activity1.models.UserFilterModel;
+
+// The bulk delete confirmation step, without a Spring context or database
+class UserAdminControllerTests {
+
+    private static final Principal ADMIN = () -> "admin";
+
+    private UsersDataService usersDataService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        usersDataService = mock(UsersDataService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserAdminController(usersDataService)).build();
+    }
+
+    @Test
+    void processBulk_Delete_ShowsTheMatchedCountAndDeletesNothing() throws Exception {
+        when(usersDataService.countMatching(eq(List.of(2, 5)), any(UserFilterModel.class), eq("admin"))).thenReturn(2);
+
+        mockMvc.perform(post("/admin/users/bulk").principal(ADMIN)
+                        .param("action", "delete").param("ids", "2", "5").param("role", "ROLE_USER"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin/bulkDeleteUsers"))
+                .andExpect(model().attribute("count", 2))
+                .andExpect(model().attribute("ids", List.of(2, 5)));
+
+        verify(usersDataService).countMatching(eq(List.of(2, 5)),
+                argThat(filter -> "ROLE_USER".equals(filter.getRole())), eq("admin"));
+        verify(usersDataService, never()).deleteMatching(any(), any(), anyString());
+    }
+
+    @Test
+    void processBulkDelete_Confirmed_DeletesWithTheSameSelection() throws Exception {
+        when(usersDataService.deleteMatching(any(), any(UserFilterModel.class), eq("admin"))).thenReturn(3);
+
+        mockMvc.perform(post("/admin/users/bulk/delete").principal(ADMIN).param("usernamePrefix", "acme"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/admin/users?usernamePrefix=acme"))
+                .andExpect(flash().attribute("message", "3 users deleted."));
+
+        verify(usersDataService).deleteMatching(isNull(),
+                argThat(filter -> "acme".equals(filter.getUsernamePrefix())), eq("admin"));
+    }
+
+    @Test
+    void processBulkDelete_WithoutSelection_DeletesNothing() throws Exception {
+        mockMvc.perform(post("/admin/users/bulk/delete").principal(ADMIN))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attributeExists("error"));
+
+        verify(usersDataService, never()).deleteMatching(any(), any(), anyString());
+    }
+}
@@ -1,6 +1,8 @@
 package com.gcu.activity1.controllers;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -19,6 +21,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import com.gcu.activity1.data.UserListItem;
 import com.gcu.activity1.data.UsersDataService;
 import com.gcu.activity1.models.UserModel;
 
@@ -52,9 +55,9 @@ class UsersControllerTests {
 
     @Test
     void showAllUsers_ForAdmin_SecurityAllowsAccess() throws Exception {
-        when(usersDataService.getAll()).thenReturn(Arrays.asList(
-                new UserModel(1, "user1", "", "ROLE_USER", true),
-                new UserModel(2, "user2", "", "ROLE_USER", true)
+        when(usersDataService.getSummaryPage(any(), any(), anyBoolean(), any(), any(), anyInt())).thenReturn(Arrays.asList(
+                new UserListItem(1, "user1", "ROLE_USER", true),
+                new UserListItem(2, "user2", "ROLE_USER", true)
         ));
 
         try {
@@ -0,0 +1,127 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import com.gcu.activity1.config.CacheConfig;
+import com.gcu.activity1.models.Money;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// The cached lookups with real transactions and repositories over H2 and no LazyConnectionDataSourceProxy,
+// as in the default setup: only a cache miss may borrow a connection from the pool.
+@SpringJUnitConfig
+class CachedLookupConnectionTests {
+
+    private static final AtomicInteger CONNECTIONS = new AtomicInteger();
+
+    @Configuration
+    @EnableTransactionManagement(proxyTargetClass = true)
+    @Import({ CacheConfig.class, OrdersDataService.class, UsersDataService.class })
+    static class Config extends OptimisticLockingTests.RepositoryConfig {
+
+        @Override
+        @Bean
+        DataSource dataSource() {
+            return new DelegatingDataSource(super.dataSource()) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    CONNECTIONS.incrementAndGet();
+                    return super.getConnection();
+                }
+            };
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.ORDERS_CACHE, CacheConfig.ORDER_NUMBERS_CACHE,
+                    CacheConfig.USERS_CACHE);
+        }
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private OrdersDataService ordersDataService;
+
+    @Autowired
+    private UsersDataService usersDataService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        ordersRepository.deleteAll();
+        usersRepository.deleteAll();
+    }
+
+    @Test
+    void loadUserByUsername_CacheHits_ShouldTakeNoConnection() {
+        usersRepository.save(new UserEntity(0, "cached", "$2a$04$hash", "ROLE_USER", true));
+        CONNECTIONS.set(0);
+
+        for (int i = 0; i < 10; i++) {
+            usersDataService.loadUserByUsername("cached");
+        }
+        assertTrue(usersDataService.usernameExists("cached"));
+        assertNotNull(usersDataService.getByUsername("cached"));
+
+        assertEquals(1, CONNECTIONS.get());
+    }
+
+    @Test
+    void orderLookups_CacheHits_ShouldTakeNoConnection() {
+        int id = ordersRepository.save(new OrderEntity(0, "C-1", "Widget", Money.ofMinor(150), 2)).getId();
+        CONNECTIONS.set(0);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("C-1", ordersDataService.getById(id).getOrder_number());
+            assertEquals(id, ordersDataService.getByOrderNumber("C-1").getId());
+        }
+
+        // one miss each: findById, then findByOrderNumber
+        assertEquals(2, CONNECTIONS.get());
+    }
+}
@@ -0,0 +1,63 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.gcu.activity1.config.DataSourcePoolConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+class DataSourcePoolConfigTests {
+
+    @Test
+    void pool_ShouldBeSizedFromDatabaseCoresAndFixed() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("orders.datasource.database-cores", "8")
+                .withProperty("orders.datasource.expected-concurrency", "200");
+
+        HikariDataSource hikari = sized(environment);
+
+        assertEquals(17, hikari.getMaximumPoolSize());
+        assertEquals(17, hikari.getMinimumIdle());
+    }
+
+    @Test
+    void pool_ShouldBeCappedByExpectedConcurrency() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("orders.datasource.database-cores", "16")
+                .withProperty("orders.datasource.expected-concurrency", "10");
+
+        assertEquals(10, sized(environment).getMaximumPoolSize());
+    }
+
+    @Test
+    void pool_ShouldDefaultConcurrencyToTomcatThreadsAndKeepAFloor() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("orders.datasource.database-cores", "1")
+                .withProperty("server.tomcat.threads.max", "2");
+
+        assertEquals(4, sized(environment).getMaximumPoolSize());
+    }
+
+    @Test
+    void explicitPoolSize_ShouldBeLeftAlone() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "20")
+                .withProperty("orders.datasource.database-cores", "8");
+        HikariDataSource hikari = new HikariDataSource();
+        hikari.setMaximumPoolSize(20);
+
+        DataSourcePoolConfig.hikariPoolSizer(environment).postProcessBeforeInitialization(hikari, "dataSource");
+
+        assertEquals(20, hikari.getMaximumPoolSize());
+    }
+
+    private HikariDataSource sized(MockEnvironment environment) {
+        BeanPostProcessor sizer = DataSourcePoolConfig.hikariPoolSizer(environment);
+        HikariDataSource hikari = new HikariDataSource();
+        sizer.postProcessBeforeInitialization(hikari, "dataSource");
+        return hikari;
+    }
+}
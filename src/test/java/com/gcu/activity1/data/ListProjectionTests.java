@@ -0,0 +1,55 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.gcu.activity1.models.Money;
+
+// The list-view projections through the real repositories: the @Query column lists must line up
+// with the record components (QTY -> quantity) for Spring Data JDBC to map them.
+class ListProjectionTests {
+
+    private AnnotationConfigApplicationContext context;
+    private OrdersRepository ordersRepository;
+    private UsersRepository usersRepository;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(OptimisticLockingTests.RepositoryConfig.class);
+        ordersRepository = context.getBean(OrdersRepository.class);
+        usersRepository = context.getBean(UsersRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void orderListPage_ShouldMapEveryListedColumnFromCursor() {
+        int first = ordersRepository.save(new OrderEntity(0, "P-1", "Widget", Money.ofMinor(150), 2)).getId();
+        ordersRepository.save(new OrderEntity(0, "P-2", "Gadget", Money.ofMinor(325), 7));
+
+        List<OrderListItem> page = ordersRepository.findListPageAfter(first, 10);
+
+        assertEquals(List.of(new OrderListItem(first + 1, "P-2", "Gadget", Money.ofMinor(325), 7)), page);
+    }
+
+    @Test
+    void userListItems_ShouldMapWithoutPassword() {
+        usersRepository.save(new UserEntity(0, "ann", "$2a$04$hash", "ROLE_ADMIN", false));
+
+        UserListItem ann = usersRepository.findAllListItems().get(0);
+
+        assertEquals("ann", ann.username());
+        assertEquals("ROLE_ADMIN", ann.role());
+        assertFalse(ann.enabled());
+        assertEquals(List.of(), usersRepository.findListPageAfter(ann.id(), 10));
+    }
+}
@@ -0,0 +1,127 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jdbc.autoconfigure.DataJdbcRepositoriesAutoConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jdbc.repository.config.EnableJdbcRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.gcu.activity1.config.JdbcConfig;
+import com.gcu.activity1.models.Money;
+
+// The real Spring Data JDBC repositories over H2 with the VERSION, PRICE_MINOR and ORDER_LINES migrations applied,
+// so the version check in the generated UPDATE is exercised rather than mocked.
+class OptimisticLockingTests {
+
+    private AnnotationConfigApplicationContext context;
+    private OrdersRepository ordersRepository;
+    private UsersRepository usersRepository;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(RepositoryConfig.class);
+        ordersRepository = context.getBean(OrdersRepository.class);
+        usersRepository = context.getBean(UsersRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void insertStartsAtZero_AndEveryUpdateIncrements() {
+        OrderEntity created = ordersRepository.save(new OrderEntity(0, "V-1", "Widget", Money.ofMinor(150), 2));
+        assertEquals(0, created.getVersion());
+
+        created.setQuantity(3);
+        OrderEntity updated = ordersRepository.save(created);
+
+        assertEquals(1, updated.getVersion());
+        assertEquals(1, ordersRepository.findById(created.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void saveWithStaleVersion_ShouldFailAndLeaveRowUnchanged() {
+        int id = ordersRepository.save(new OrderEntity(0, "V-2", "Widget", Money.ofMinor(150), 2)).getId();
+        OrderEntity first = ordersRepository.findById(id).orElseThrow();
+        OrderEntity second = ordersRepository.findById(id).orElseThrow();
+
+        first.setQuantity(10);
+        ordersRepository.save(first);
+        second.setQuantity(20);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> ordersRepository.save(second));
+        assertEquals(10, ordersRepository.findById(id).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void userSaveWithStaleVersion_ShouldFail() {
+        UserEntity created = usersRepository.save(new UserEntity(0, "locker", "$2a$04$hash", "ROLE_USER", true));
+        usersRepository.save(new UserEntity(created.getId(), "locker", "$2a$04$hash", "ROLE_ADMIN", true, 0));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> usersRepository.save(
+                new UserEntity(created.getId(), "locker", "$2a$04$hash", "ROLE_USER", false, 0)));
+    }
+
+    @Test
+    void partialUserUpdate_ShouldKeepPasswordAndBumpVersion_OnlyAtTheLoadedVersion() {
+        int id = usersRepository.save(new UserEntity(0, "partial", "$2a$04$hash", "ROLE_USER", true)).getId();
+
+        assertEquals(1, usersRepository.updateProfile(id, "partial", "ROLE_ADMIN", false, 0));
+        assertEquals(0, usersRepository.updateProfile(id, "partial", "ROLE_USER", true, 0));
+
+        UserEntity stored = usersRepository.findById(id).orElseThrow();
+        assertEquals("$2a$04$hash", stored.getPassword());
+        assertEquals("ROLE_ADMIN", stored.getRole());
+        assertFalse(stored.isEnabled());
+        assertEquals(1, stored.getVersion());
+    }
+
+    // not a @Configuration, so component scanning in @SpringBootTest does not pick it up.
+    // Spring Data JDBC is configured the way the application gets it: Boot's auto-configuration plus JdbcConfig
+    @EnableJdbcRepositories(basePackageClasses = OrdersRepository.class)
+    @ImportAutoConfiguration(DataJdbcRepositoriesAutoConfiguration.class)
+    @Import(JdbcConfig.class)
+    static class RepositoryConfig {
+
+        @Bean
+        DataSource dataSource() {
+            DriverManagerDataSource dataSource =
+                    new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+            new ResourceDatabasePopulator(new ClassPathResource("db/h2/schema.sql"),
+                    new ClassPathResource("db/mysql/003-orders-users-version.sql"),
+                    new ClassPathResource("db/mysql/005-orders-price-minor-units.sql"),
+                    new ClassPathResource("db/mysql/006-order-lines.sql")).execute(dataSource);
+            return dataSource;
+        }
+
+        @Bean
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate(DataSource dataSource) {
+            return new NamedParameterJdbcTemplate(new JdbcTemplate(dataSource));
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.gcu.activity1.models.Mapper;
+import com.gcu.activity1.models.Money;
+import com.gcu.activity1.models.OrderLineModel;
+import com.gcu.activity1.models.OrderModel;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// ORDERS and ORDER_LINES saved, loaded and deleted as one aggregate through the real repositories,
+// and the batched line load used by the list pages.
+class OrderAggregateTests {
+
+    private AnnotationConfigApplicationContext context;
+    private OrdersRepository ordersRepository;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(OptimisticLockingTests.RepositoryConfig.class);
+        ordersRepository = context.getBean(OrdersRepository.class);
+        jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void save_ShouldStoreLinesInOrder_AndCopyTheFirstOntoTheOrder() {
+        int id = ordersRepository.save(Mapper.toEntity(order("L-1",
+                new OrderLineModel("Widget", Money.ofMinor(150), 2),
+                new OrderLineModel("Cable", Money.ofMinor(99), 3)))).getId();
+
+        OrderModel loaded = Mapper.toModel(ordersRepository.findById(id).orElseThrow());
+
+        assertEquals(List.of("Widget", "Cable"), loaded.getLines().stream().map(OrderLineModel::getProduct_name).toList());
+        assertEquals("Widget", loaded.getProduct_name());
+        assertEquals(Money.ofMinor(150), loaded.getPrice());
+        assertEquals(2, loaded.getQuantity());
+        assertEquals(Money.ofMinor(597), loaded.getTotal());
+    }
+
+    @Test
+    void orderWithoutLines_ShouldBeSavedAsASingleLine() {
+        int id = ordersRepository.save(Mapper.toEntity(new OrderModel(0, "L-2", "Widget", Money.ofMinor(150), 2))).getId();
+
+        List<OrderLineItem> lines = ordersRepository.findLines(Set.of(id));
+
+        assertEquals(List.of(new OrderLineItem(id, "Widget", Money.ofMinor(150), 2)), lines);
+    }
+
+    @Test
+    void update_ShouldReplaceTheLines_AndDeleteShouldRemoveThem() {
+        int id = ordersRepository.save(Mapper.toEntity(order("L-3",
+                new OrderLineModel("Widget", Money.ofMinor(150), 2),
+                new OrderLineModel("Cable", Money.ofMinor(99), 3)))).getId();
+        OrderModel loaded = Mapper.toModel(ordersRepository.findById(id).orElseThrow());
+
+        loaded.getLines().remove(0);
+        ordersRepository.save(Mapper.toEntity(loaded));
+
+        OrderEntity updated = ordersRepository.findById(id).orElseThrow();
+        assertEquals(1, updated.getLines().size());
+        assertEquals("Cable", updated.getProduct_name());
+        assertEquals(1, updated.getVersion());
+
+        ordersRepository.deleteById(id);
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM ORDER_LINES", Integer.class));
+    }
+
+    @Test
+    void findLines_ShouldReturnEveryRequestedOrdersLines_GroupedInLineOrder() {
+        int first = ordersRepository.save(Mapper.toEntity(order("L-4",
+                new OrderLineModel("Widget", Money.ofMinor(150), 2),
+                new OrderLineModel("Cable", Money.ofMinor(99), 3)))).getId();
+        int second = ordersRepository.save(Mapper.toEntity(order("L-5",
+                new OrderLineModel("Gadget", Money.ofMinor(300), 1)))).getId();
+        ordersRepository.save(Mapper.toEntity(order("L-6", new OrderLineModel("Other", Money.ofMinor(1), 1))));
+
+        List<OrderLineItem> lines = ordersRepository.findLines(Set.of(second, first));
+
+        assertEquals(List.of(first, first, second), lines.stream().map(OrderLineItem::orderId).toList());
+        assertEquals(List.of("Widget", "Cable", "Gadget"), lines.stream().map(OrderLineItem::product_name).toList());
+        assertTrue(ordersRepository.findLines(Set.of()).isEmpty());
+    }
+
+    @Test
+    void createAll_ShouldInsertEveryLineWithItsOrder() {
+        OrdersDataService service = new OrdersDataService(jdbc, 500, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "ordersRepository", ordersRepository);
+
+        service.createAll(List.of(
+                new OrderModel(0, "B-1", "Widget", Money.ofMinor(150), 2),
+                order("B-2", new OrderLineModel("Gadget", Money.ofMinor(300), 1),
+                        new OrderLineModel("Cable", Money.ofMinor(99), 3))));
+
+        List<OrderModel> page = service.getPage(0, 10);
+        assertEquals(1, page.get(0).getLines().size());
+        assertEquals("Gadget", page.get(1).getProduct_name());
+        assertEquals(Money.ofMinor(597), page.get(1).getTotal());
+    }
+
+    @Test
+    void streamAll_ShouldGatherEachOrdersLinesIntoOneModel() {
+        OrdersDataService service = new OrdersDataService(jdbc, 2, new SimpleMeterRegistry());
+        ordersRepository.save(Mapper.toEntity(order("S-1",
+                new OrderLineModel("Widget", Money.ofMinor(150), 2),
+                new OrderLineModel("Cable", Money.ofMinor(99), 3))));
+        ordersRepository.save(Mapper.toEntity(new OrderModel(0, "S-2", "Gadget", Money.ofMinor(300), 1)));
+        ordersRepository.save(Mapper.toEntity(order("S-3",
+                new OrderLineModel("Gizmo", Money.ofMinor(100), 1),
+                new OrderLineModel("Bolt", Money.ofMinor(25), 8),
+                new OrderLineModel("Nut", Money.ofMinor(5), 8))));
+
+        List<OrderModel> orders;
+        try (Stream<OrderModel> stream = service.streamAll()) {
+            orders = stream.toList();
+        }
+
+        assertEquals(List.of("S-1", "S-2", "S-3"), orders.stream().map(OrderModel::getOrder_number).toList());
+        assertEquals(List.of(2, 1, 3), orders.stream().map(o -> o.getLines().size()).toList());
+        assertEquals("Nut", orders.get(2).getLines().get(2).getProduct_name());
+        assertEquals(Money.ofMinor(340), orders.get(2).getTotal());
+    }
+
+    // a new order built from its lines only, the way the edit form posts it
+    private static OrderModel order(String orderNumber, OrderLineModel... lines) {
+        OrderModel orderModel = new OrderModel();
+        orderModel.setOrder_number(orderNumber);
+        orderModel.setLines(new ArrayList<>(List.of(lines)));
+        return orderModel;
+    }
+}
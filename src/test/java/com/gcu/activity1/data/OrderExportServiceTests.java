@@ -0,0 +1,227 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.gcu.activity1.models.ImportResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+// The export over H2, read straight off the cursor by OrdersDataService.forEachLine.
+// OrdersControllerTests covers the /orders/export endpoint around it.
+class OrderExportServiceTests {
+
+    private final JsonMapper objectMapper = new JsonMapper();
+
+    private EmbeddedDatabase database;
+    private OrderExportService orderExportService;
+
+    @BeforeEach
+    void setUp() {
+        database = database();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.update("INSERT INTO ORDERS (ORDER_NUMBER, PRODUCT_NAME, PRICE_MINOR, QTY) VALUES "
+                + "('E-1', 'Widget', 150, 2), ('E-2', 'Gadget', 300, 1)");
+        jdbc.update("INSERT INTO ORDER_LINES (ORDER_ID, LINE_NO, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "SELECT ID, 0, PRODUCT_NAME, PRICE_MINOR, QTY FROM ORDERS");
+        jdbc.update("INSERT INTO ORDER_LINES (ORDER_ID, LINE_NO, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "SELECT ID, 1, 'Cable', 99, 3 FROM ORDERS WHERE ORDER_NUMBER = 'E-1'");
+        orderExportService = exportService(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void writeCsv_ShouldWriteOneRowPerLine() throws Exception {
+        assertEquals("""
+                id,order_number,product_name,price,quantity
+                1,E-1,Widget,1.50,2
+                1,E-1,Cable,0.99,3
+                2,E-2,Gadget,3.00,1
+                """, csv(orderExportService));
+    }
+
+    @Test
+    void writeNdjson_ShouldWriteOneObjectPerOrderWithItsLines() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.writeNdjson(out);
+
+        String[] records = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, records.length);
+        JsonNode first = objectMapper.readTree(records[0]);
+        assertEquals("E-1", first.get("order_number").asString());
+        assertEquals("Widget", first.get("product_name").asString());
+        assertEquals(2, first.get("lines").size());
+        assertEquals("Cable", first.get("lines").get(1).get("product_name").asString());
+        assertEquals(0.99, first.get("lines").get(1).get("price").asDouble());
+        assertEquals(1, objectMapper.readTree(records[1]).get("lines").size());
+    }
+
+    @Test
+    void writeCsv_ShouldQuoteCommasQuotesAndLineBreaks() throws Exception {
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.update("UPDATE ORDER_LINES SET PRODUCT_NAME = ? WHERE LINE_NO = 1", "Cable, 2m");
+        jdbc.update("UPDATE ORDER_LINES SET PRODUCT_NAME = ? WHERE PRODUCT_NAME = 'Gadget'", "The \"Gadget\"");
+        jdbc.update("UPDATE ORDERS SET ORDER_NUMBER = ? WHERE ORDER_NUMBER = 'E-1'", "E-1\nrush");
+
+        assertEquals("""
+                id,order_number,product_name,price,quantity
+                1,"E-1
+                rush",Widget,1.50,2
+                1,"E-1
+                rush","Cable, 2m",0.99,3
+                2,E-2,"The ""Gadget""\",3.00,1
+                """, csv(orderExportService));
+    }
+
+    @Test
+    void writeNdjson_ShouldEscapeQuotesAndLineBreaksInsideOneRecord() throws Exception {
+        new JdbcTemplate(database).update("UPDATE ORDER_LINES SET PRODUCT_NAME = ? WHERE LINE_NO = 1",
+                "Cable \"2m\"\nred");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.writeNdjson(out);
+
+        String[] records = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, records.length);
+        assertEquals("Cable \"2m\"\nred",
+                objectMapper.readTree(records[0]).get("lines").get(1).get("product_name").asString());
+    }
+
+    @Test
+    void forEachLine_ShouldHandEveryLineInOrderAcrossFetches() {
+        // a fetch size smaller than the table, so the rows arrive over several round trips
+        new JdbcTemplate(database).update("INSERT INTO ORDER_LINES (ORDER_ID, LINE_NO, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "SELECT ID, 1, 'Plug', 10, 1 FROM ORDERS WHERE ORDER_NUMBER = 'E-2'");
+        OrdersDataService service = new OrdersDataService(new JdbcTemplate(database), 2, new SimpleMeterRegistry());
+        List<String> lines = new ArrayList<>();
+
+        service.forEachLine(rs -> lines.add(rs.getInt(1) + ":" + rs.getString(2) + ":" + rs.getString(3)
+                + ":" + rs.getLong(4) + ":" + rs.getInt(5)));
+
+        assertEquals(List.of("1:E-1:Widget:150:2", "1:E-1:Cable:99:3", "2:E-2:Gadget:300:1", "2:E-2:Plug:10:1"),
+                lines);
+    }
+
+    @Test
+    void writeCsv_WhenTheClientGoesAway_ShouldStopWithTheWriteError() {
+        // more than the 64 KB writer buffer, so the export writes to the response while still reading rows
+        new JdbcTemplate(database).update("INSERT INTO ORDER_LINES (ORDER_ID, LINE_NO, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "SELECT O.ID, X.X + 1, REPEAT('x', 100), 1, 1 FROM ORDERS O, SYSTEM_RANGE(1, 2000) X "
+                + "WHERE O.ORDER_NUMBER = 'E-2'");
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> orderExportService.writeCsv(closed));
+        assertEquals("Broken pipe", e.getCause().getMessage());
+    }
+
+    @Test
+    void csvAndNdjsonExports_ShouldImportBackWithEveryLine() throws Exception {
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        orderExportService.writeNdjson(ndjson);
+        String csv = csv(orderExportService);
+
+        for (boolean asCsv : new boolean[] { true, false }) {
+            EmbeddedDatabase target = database();
+            try {
+                OrderImportService importService = new OrderImportService(1000);
+                ReflectionTestUtils.setField(importService, "ordersDataService", dataService(target));
+                ReflectionTestUtils.setField(importService, "validator",
+                        Validation.buildDefaultValidatorFactory().getValidator());
+                ReflectionTestUtils.setField(importService, "objectMapper", objectMapper);
+
+                ImportResult result = asCsv
+                        ? importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))
+                        : importService.importJson(new ByteArrayInputStream(ndjson.toByteArray()));
+
+                assertEquals(0, result.getErrorCount());
+                assertEquals(csv, csv(exportService(target)));
+            } finally {
+                target.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void csvExport_WithLineBreaksAndQuotesInFields_ShouldImportBackUnchanged() throws Exception {
+        new JdbcTemplate(database).update("UPDATE ORDER_LINES SET PRODUCT_NAME = ? WHERE LINE_NO = 1",
+                "Cable \"2m\",\r\nred");
+        String csv = csv(orderExportService);
+        EmbeddedDatabase target = database();
+        try {
+            OrderImportService importService = new OrderImportService(1000);
+            ReflectionTestUtils.setField(importService, "ordersDataService", dataService(target));
+            ReflectionTestUtils.setField(importService, "validator",
+                    Validation.buildDefaultValidatorFactory().getValidator());
+
+            ImportResult result = importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+            assertEquals(0, result.getErrorCount());
+            assertEquals(3, result.getRowsImported());
+            assertEquals("Cable \"2m\",\r\nred", new JdbcTemplate(target).queryForObject(
+                    "SELECT PRODUCT_NAME FROM ORDER_LINES WHERE LINE_NO = 1", String.class));
+            assertEquals(csv, csv(exportService(target)));
+        } finally {
+            target.shutdown();
+        }
+    }
+
+    private static String csv(OrderExportService service) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeCsv(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private OrderExportService exportService(EmbeddedDatabase database) {
+        OrderExportService service = new OrderExportService();
+        ReflectionTestUtils.setField(service, "ordersDataService", dataService(database));
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        return service;
+    }
+
+    private static OrdersDataService dataService(EmbeddedDatabase database) {
+        return new OrdersDataService(new JdbcTemplate(database), 500, new SimpleMeterRegistry());
+    }
+
+    private static EmbeddedDatabase database() {
+        return new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/h2/schema.sql")
+                .addScript("db/mysql/005-orders-price-minor-units.sql")
+                .addScript("db/mysql/006-order-lines.sql")
+                .build();
+    }
+}
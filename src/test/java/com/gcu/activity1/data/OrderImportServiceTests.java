@@ -0,0 +1,193 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.gcu.activity1.models.ImportResult;
+import com.gcu.activity1.models.OrderModel;
+
+import jakarta.validation.Validation;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class OrderImportServiceTests {
+
+    @Mock
+    private OrdersDataService ordersDataService;
+
+    private OrderImportService orderImportService;
+
+    @BeforeEach
+    void setUp() {
+        orderImportService = new OrderImportService(2);
+        ReflectionTestUtils.setField(orderImportService, "ordersDataService", ordersDataService);
+        ReflectionTestUtils.setField(orderImportService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(orderImportService, "objectMapper", new JsonMapper());
+    }
+
+    @Test
+    void importCsv_ShouldBatchValidRowsAndReportInvalidOnes() throws Exception {
+        when(ordersDataService.createAll(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        String csv = """
+                product_name,order_number,qty,price
+                "Widget, large",A-1,2,9.99
+                Gadget,A-2,1,1.50
+                ,A-3,1,1.00
+                Gizmo,A-4,1,abc
+                Bolt,A-5,3,0.25
+                """;
+
+        ImportResult result = orderImportService.importCsv(stream(csv));
+
+        assertEquals(5, result.getRowsRead());
+        assertEquals(3, result.getRowsImported());
+        assertEquals(2, result.getErrorCount());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertEquals(4, result.getErrors().get(1).getRow());
+        verify(ordersDataService, times(2)).createAll(anyList());
+        verify(ordersDataService).createAll(argThat(batch ->
+                batch.size() == 2 && "Widget, large".equals(((OrderModel) batch.get(0)).getProduct_name())));
+    }
+
+    @Test
+    void importCsv_DuplicateOrderNumberInOneBatch_OnlyRejectsThatRow() throws Exception {
+        // createAll is all-or-nothing like the real one: any order number seen before fails the whole call
+        Set<String> stored = new HashSet<>();
+        when(ordersDataService.createAll(anyList())).thenAnswer(invocation -> {
+            List<String> numbers = ((List<?>) invocation.getArgument(0)).stream()
+                    .map(order -> ((OrderModel) order).getOrder_number())
+                    .toList();
+            if (new HashSet<>(numbers).size() < numbers.size() || numbers.stream().anyMatch(stored::contains)) {
+                throw new DuplicateKeyException("Duplicate entry for key 'ORDER_NUMBER'");
+            }
+            stored.addAll(numbers);
+            return numbers.size();
+        });
+        orderImportService = new OrderImportService(4);
+        ReflectionTestUtils.setField(orderImportService, "ordersDataService", ordersDataService);
+        ReflectionTestUtils.setField(orderImportService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        String csv = """
+                order_number,product_name,price,quantity
+                A-1,Widget,1.00,1
+                A-2,Gadget,2.00,1
+                A-1,Gizmo,3.00,1
+                A-3,Bolt,0.25,4
+                """;
+
+        ImportResult result = orderImportService.importCsv(stream(csv));
+
+        assertEquals(3, result.getRowsImported());
+        assertEquals(1, result.getErrorCount());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessage().contains("Duplicate entry"));
+        assertEquals(Set.of("A-1", "A-2", "A-3"), stored);
+    }
+
+    @Test
+    void importCsv_ShouldJoinConsecutiveRowsOfAnOrderIntoItsLines() throws Exception {
+        when(ordersDataService.createAll(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        String csv = """
+                id,order_number,product_name,price,quantity
+                1,M-1,Widget,1.50,2
+                1,M-1,Cable,0.99,3
+                2,M-2,Gadget,3.00,1
+                3,M-3,Gizmo,1.00,1
+                3,M-3,Bolt,abc,1
+                """;
+
+        ImportResult result = orderImportService.importCsv(stream(csv));
+
+        assertEquals(5, result.getRowsRead());
+        assertEquals(3, result.getRowsImported());
+        // the whole of M-3 is rejected, at the row that could not be read
+        assertEquals(1, result.getErrorCount());
+        assertEquals(5, result.getErrors().get(0).getRow());
+        verify(ordersDataService).createAll(argThat(batch -> {
+            OrderModel first = (OrderModel) batch.get(0);
+            return batch.size() == 2 && first.getLines().size() == 2 && "Widget".equals(first.getProduct_name())
+                    && "Cable".equals(first.getLines().get(1).getProduct_name());
+        }));
+    }
+
+    @Test
+    void importCsv_QuotedLineBreaks_StayInTheFieldAndDoNotShiftRowNumbers() throws Exception {
+        when(ordersDataService.createAll(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        String csv = "order_number,product_name,price,quantity\r\n"
+                + "A-1,\"Widget\nwith \"\"notes\"\"\r\nend\",1.00,1\r\n"
+                + "A-2,Gadget,abc,1\r\n"
+                + "A-3,Bolt,0.25,4";
+
+        ImportResult result = orderImportService.importCsv(stream(csv));
+
+        assertEquals(3, result.getRowsRead());
+        assertEquals(2, result.getRowsImported());
+        assertEquals(1, result.getErrorCount());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        verify(ordersDataService).createAll(argThat(batch -> batch.size() == 2
+                && "Widget\nwith \"notes\"\r\nend".equals(((OrderModel) batch.get(0)).getProduct_name())));
+    }
+
+    @Test
+    void importCsv_WithoutRequiredHeader_ShouldImportNothing() throws Exception {
+        ImportResult result = orderImportService.importCsv(stream("a,b,c\n1,2,3\n"));
+
+        assertEquals(0, result.getRowsImported());
+        assertEquals(1, result.getErrorCount());
+        verifyNoInteractions(ordersDataService);
+    }
+
+    @Test
+    void importJson_ShouldSkipBadElementsAndKeepGoing() {
+        when(ordersDataService.createAll(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        String json = """
+                [{"order_number":"J-1","product_name":"A","price":1.5,"quantity":1},
+                 {"order_number":"J-2","product_name":"B","price":"zz","quantity":1},
+                 {"order_number":"J-3","product_name":"C","price":2.0,"quantity":0},
+                 {"order_number":"J-4","product_name":"D","price":2.0,"quantity":3}]
+                """;
+
+        ImportResult result = orderImportService.importJson(stream(json));
+
+        assertEquals(4, result.getRowsRead());
+        assertEquals(2, result.getRowsImported());
+        assertEquals(2, result.getErrorCount());
+    }
+
+    @Test
+    void importJson_OrderGivenAsLines_ShouldTakeItsProductFieldsFromTheFirstLine() {
+        when(ordersDataService.createAll(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        String json = """
+                {"order_number":"J-1","lines":[{"product_name":"A","price":1.5,"quantity":1},{"product_name":"B","price":2,"quantity":3}]}
+                {"order_number":"J-2","lines":[{"product_name":"C","price":1.5,"quantity":0}]}
+                """;
+
+        ImportResult result = orderImportService.importJson(stream(json));
+
+        assertEquals(1, result.getRowsImported());
+        assertEquals(1, result.getErrorCount());
+        verify(ordersDataService).createAll(argThat(batch ->
+                "A".equals(((OrderModel) batch.get(0)).getProduct_name()) && ((OrderModel) batch.get(0)).getLines().size() == 2));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
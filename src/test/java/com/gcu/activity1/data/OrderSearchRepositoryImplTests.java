@@ -0,0 +1,104 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.gcu.activity1.models.Money;
+import com.gcu.activity1.models.OrderSearchModel;
+
+class OrderSearchRepositoryImplTests {
+
+    private EmbeddedDatabase database;
+    private OrderSearchRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/h2/schema.sql")
+                .addScript("db/mysql/001-orders-search-indexes.sql")
+                .addScript("db/mysql/005-orders-price-minor-units.sql")
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.update("INSERT INTO ORDERS (ORDER_NUMBER, PRODUCT_NAME, PRICE_MINOR, QTY) VALUES "
+                + "('A-1', 'Widget', 500, 1), ('A-2', 'Widget XL', 1250, 4), ('A-3', 'Gadget', 1250, 10), "
+                + "('A-4', 'Wid%get', 300, 2), ('A-5', 'Widget', 2000, 8)");
+        // every order gets its own product, price and quantity as line 0
+        new ResourceDatabasePopulator(new ClassPathResource("db/mysql/006-order-lines.sql"),
+                new ClassPathResource("db/mysql/007-order-lines-search-indexes.sql")).execute(database);
+        repository = new OrderSearchRepositoryImpl(new NamedParameterJdbcTemplate(database));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void search_WithNoFilters_ShouldPageByIdFromCursor() {
+        List<OrderEntity> page = repository.search(new OrderSearchModel(), 2, 2);
+
+        assertEquals(List.of(3, 4), ids(page));
+    }
+
+    @Test
+    void search_ShouldCombinePrefixAndRanges() {
+        OrderSearchModel criteria = new OrderSearchModel();
+        criteria.setProductPrefix("Widget");
+        criteria.setMinPrice(Money.valueOf("10.00"));
+        criteria.setMaxQuantity(8);
+
+        assertEquals(List.of(2, 5), ids(repository.search(criteria, 0, 50)));
+    }
+
+    @Test
+    void search_ShouldMatchPrefixWildcardsLiterally() {
+        OrderSearchModel criteria = new OrderSearchModel();
+        criteria.setProductPrefix("Wid%");
+
+        assertEquals(List.of(4), ids(repository.search(criteria, 0, 50)));
+    }
+
+    @Test
+    void search_ShouldMatchAnyLineOfAnOrder_WithAllLineFiltersOnTheSameLine() {
+        new JdbcTemplate(database).update("INSERT INTO ORDER_LINES (ORDER_ID, LINE_NO, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "VALUES (3, 1, 'Widget Mini', 1500, 2)");
+        OrderSearchModel secondLine = new OrderSearchModel();
+        secondLine.setProductPrefix("Widget Mini");
+        OrderSearchModel acrossLines = new OrderSearchModel();
+        acrossLines.setProductPrefix("Gadget");
+        acrossLines.setMinPrice(Money.valueOf("15.00"));
+
+        assertEquals(List.of(3), ids(repository.search(secondLine, 0, 50)));
+        // Gadget is 12.50: the 15.00 belongs to another line
+        assertEquals(List.of(), ids(repository.search(acrossLines, 0, 50)));
+    }
+
+    @Test
+    void search_ByOrderNumber_ShouldReturnExactMatch() {
+        OrderSearchModel criteria = new OrderSearchModel();
+        criteria.setOrderNumber(" A-3 ");
+
+        List<OrderEntity> result = repository.search(criteria, 0, 50);
+
+        assertEquals(1, result.size());
+        assertEquals("Gadget", result.get(0).getProduct_name());
+    }
+
+    private static List<Integer> ids(List<OrderEntity> orders) {
+        return orders.stream().map(OrderEntity::getId).toList();
+    }
+}
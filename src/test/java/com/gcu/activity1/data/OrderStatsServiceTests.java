@@ -0,0 +1,95 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.gcu.activity1.models.Money;
+import com.gcu.activity1.models.OrderStatsModel;
+
+class OrderStatsServiceTests {
+
+    private EmbeddedDatabase database;
+    private OrderStatsService orderStatsService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/h2/schema.sql")
+                .addScript("db/mysql/005-orders-price-minor-units.sql")
+                .addScript("db/mysql/006-order-lines.sql")
+                .build();
+        orderStatsService = new OrderStatsService(new JdbcTemplate(database));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void getStats_ShouldAggregateInTheDatabase() {
+        // order values 1..100 (price 1.00 x qty n), plus 10 more "Gadget" orders worth 50 each
+        new JdbcTemplate(database).update("INSERT INTO ORDERS (ORDER_NUMBER, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "SELECT 'W-' || X, 'Widget', 100, X FROM SYSTEM_RANGE(1, 100)");
+        new JdbcTemplate(database).update("INSERT INTO ORDERS (ORDER_NUMBER, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "SELECT 'G-' || X, 'Gadget', 2500, 2 FROM SYSTEM_RANGE(1, 10)");
+        singleLineOrders();
+
+        OrderStatsModel stats = orderStatsService.getStats(1);
+
+        assertEquals(110, stats.getOrderCount());
+        assertEquals(5050 + 20, stats.getTotalQuantity());
+        assertEquals(Money.valueOf("5550.00"), stats.getTotalRevenue());
+        assertEquals(Money.valueOf("50.45"), stats.getAverageOrderValue());
+        assertEquals(Money.valueOf("50.00"), stats.getMedianOrderValue());
+        assertEquals(Money.valueOf("89.00"), stats.getP90OrderValue());
+        assertEquals(Money.valueOf("99.00"), stats.getP99OrderValue());
+        assertEquals(1, stats.getTopProducts().size());
+        assertEquals("Widget", stats.getTopProducts().get(0).getProductName());
+        assertEquals(100, stats.getTopProducts().get(0).getOrderCount());
+        assertNotNull(stats.getComputedAt());
+    }
+
+    @Test
+    void getStats_ShouldValueAnOrderByAllItsLines() {
+        new JdbcTemplate(database).update("INSERT INTO ORDERS (ORDER_NUMBER, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "VALUES ('M-1', 'Widget', 100, 1)");
+        singleLineOrders();
+        new JdbcTemplate(database).update("INSERT INTO ORDER_LINES (ORDER_ID, LINE_NO, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "SELECT ID, 1, 'Gadget', 200, 3 FROM ORDERS");
+
+        OrderStatsModel stats = orderStatsService.getStats(2);
+
+        assertEquals(1, stats.getOrderCount());
+        assertEquals(4, stats.getTotalQuantity());
+        assertEquals(Money.valueOf("7.00"), stats.getTotalRevenue());
+        assertEquals(Money.valueOf("7.00"), stats.getMedianOrderValue());
+        assertEquals("Gadget", stats.getTopProducts().get(0).getProductName());
+        assertEquals(1, stats.getTopProducts().get(1).getOrderCount());
+    }
+
+    @Test
+    void getStats_WithNoOrders_ShouldReturnZerosAndNoPercentiles() {
+        OrderStatsModel stats = orderStatsService.getStats(10);
+
+        assertEquals(0, stats.getOrderCount());
+        assertEquals(Money.ZERO, stats.getAverageOrderValue());
+        assertNull(stats.getMedianOrderValue());
+        assertTrue(stats.getTopProducts().isEmpty());
+    }
+
+    // each order's own product, price and quantity as its line 0, as the 006 migration does
+    private void singleLineOrders() {
+        new JdbcTemplate(database).update("INSERT INTO ORDER_LINES (ORDER_ID, LINE_NO, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "SELECT ID, 0, PRODUCT_NAME, PRICE_MINOR, QTY FROM ORDERS");
+    }
+}
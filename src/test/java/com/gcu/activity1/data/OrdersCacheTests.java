@@ -0,0 +1,178 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.gcu.activity1.config.CacheConfig;
+import com.gcu.activity1.models.Money;
+import com.gcu.activity1.models.OrderLineModel;
+import com.gcu.activity1.models.OrderModel;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringJUnitConfig
+class OrdersCacheTests {
+
+    @Configuration
+    @Import({ CacheConfig.class, OrdersDataService.class })
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.ORDERS_CACHE, CacheConfig.ORDER_NUMBERS_CACHE);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private OrdersRepository ordersRepository;
+
+    @MockitoBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrdersDataService ordersDataService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.ORDERS_CACHE).clear();
+        cacheManager.getCache(CacheConfig.ORDER_NUMBERS_CACHE).clear();
+    }
+
+    @Test
+    void getById_SecondCallIsServedFromCache() {
+        when(ordersRepository.findById(1)).thenReturn(Optional.of(new OrderEntity(1, "A-1", "Widget", Money.ofMinor(250), 3)));
+
+        ordersDataService.getById(1);
+        OrderModel cached = ordersDataService.getById(1);
+
+        assertEquals("A-1", cached.getOrder_number());
+        verify(ordersRepository, times(1)).findById(1);
+    }
+
+    @Test
+    void getById_MissingRowIsNotCached() {
+        when(ordersRepository.findById(2)).thenReturn(Optional.empty());
+
+        assertNull(ordersDataService.getById(2));
+        assertNull(ordersDataService.getById(2));
+
+        verify(ordersRepository, times(2)).findById(2);
+    }
+
+    @Test
+    void update_ReplacesCachedEntry() {
+        when(ordersRepository.findById(1)).thenReturn(Optional.of(new OrderEntity(1, "A-1", "Widget", Money.ofMinor(250), 3)));
+        when(ordersRepository.save(any(OrderEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ordersDataService.getById(1);
+        ordersDataService.update(new OrderModel(1, "A-1", "Widget", Money.ofMinor(400), 5, 0));
+        OrderModel cached = ordersDataService.getById(1);
+
+        assertEquals(5, cached.getQuantity());
+        verify(ordersRepository, times(1)).findById(1);
+    }
+
+    @Test
+    void getById_ChangesToTheReturnedOrderDoNotReachTheCache() {
+        when(ordersRepository.findById(1)).thenReturn(Optional.of(new OrderEntity(1, "A-1", "Widget", Money.ofMinor(250), 3)));
+
+        OrderModel edited = ordersDataService.getById(1);
+        edited.setOrder_number("B-1");
+        edited.getLines().add(new OrderLineModel("Gadget", Money.ofMinor(100), 1));
+        OrderModel cached = ordersDataService.getById(1);
+
+        assertNotSame(edited, cached);
+        assertEquals("A-1", cached.getOrder_number());
+        assertTrue(cached.getLines().isEmpty());
+        verify(ordersRepository, times(1)).findById(1);
+    }
+
+    @Test
+    void update_ChangesToTheReturnedOrderDoNotReachTheCache() {
+        when(ordersRepository.save(any(OrderEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        OrderModel saved = ordersDataService.update(new OrderModel(1, "A-1", "Widget", Money.ofMinor(400), 5, 0));
+        saved.setQuantity(9);
+        saved.getLines().get(0).setQuantity(9);
+
+        OrderModel cached = ordersDataService.getById(1);
+        assertEquals(5, cached.getQuantity());
+        assertEquals(5, cached.getLines().get(0).getQuantity());
+        verify(ordersRepository, never()).findById(1);
+    }
+
+    @Test
+    void deleteById_EvictsCachedEntry() {
+        when(ordersRepository.findById(1)).thenReturn(Optional.of(new OrderEntity(1, "A-1", "Widget", Money.ofMinor(250), 3)));
+
+        ordersDataService.getById(1);
+        ordersDataService.deleteById(1);
+        ordersDataService.getById(1);
+
+        verify(ordersRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void getByOrderNumber_SecondCallIsServedFromCache() {
+        when(ordersRepository.findByOrderNumber("A-1")).thenReturn(Optional.of(new OrderEntity(1, "A-1", "Widget", Money.ofMinor(250), 3)));
+
+        ordersDataService.getByOrderNumber("A-1");
+        OrderModel cached = ordersDataService.getByOrderNumber("A-1");
+
+        assertEquals(1, cached.getId());
+        verify(ordersRepository, times(1)).findByOrderNumber("A-1");
+        // the row is shared with the id cache
+        ordersDataService.getById(1);
+        verify(ordersRepository, never()).findById(1);
+    }
+
+    @Test
+    void getByOrderNumber_AfterRename_DoesNotReturnStaleOrder() {
+        when(ordersRepository.findByOrderNumber("A-1"))
+                .thenReturn(Optional.of(new OrderEntity(1, "A-1", "Widget", Money.ofMinor(250), 3)))
+                .thenReturn(Optional.empty());
+        when(ordersRepository.save(any(OrderEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ordersDataService.getByOrderNumber("A-1");
+        ordersDataService.update(new OrderModel(1, "B-1", "Widget", Money.ofMinor(250), 3, 0));
+
+        assertNull(ordersDataService.getByOrderNumber("A-1"));
+        verify(ordersRepository, times(2)).findByOrderNumber("A-1");
+    }
+
+    @Test
+    void getByOrderNumber_AfterDelete_GoesBackToDatabase() {
+        when(ordersRepository.findByOrderNumber("A-1"))
+                .thenReturn(Optional.of(new OrderEntity(1, "A-1", "Widget", Money.ofMinor(250), 3)))
+                .thenReturn(Optional.empty());
+
+        ordersDataService.getByOrderNumber("A-1");
+        ordersDataService.deleteById(1);
+
+        assertNull(ordersDataService.getByOrderNumber("A-1"));
+    }
+}
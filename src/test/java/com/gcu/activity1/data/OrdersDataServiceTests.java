@@ -0,0 +1,166 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.gcu.activity1.config.CacheConfig;
+import com.gcu.activity1.models.Money;
+import com.gcu.activity1.models.OrderLineModel;
+import com.gcu.activity1.models.OrderModel;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersDataServiceTests {
+
+    @Mock
+    private OrdersRepository ordersRepository;
+
+    @Mock
+    private DataSource dataSource;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OrdersDataService ordersDataService;
+    private ConcurrentMapCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        ordersDataService = new OrdersDataService(new JdbcTemplate(dataSource), 500, meterRegistry);
+        ReflectionTestUtils.setField(ordersDataService, "ordersRepository", ordersRepository);
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.ORDERS_CACHE, CacheConfig.ORDER_NUMBERS_CACHE);
+        ReflectionTestUtils.setField(ordersDataService, "cacheManager", cacheManager);
+    }
+
+    @Test
+    void getPage_ShouldSeekFromCursorWithPageSize() {
+        when(ordersRepository.findListPageAfter(10, 2)).thenReturn(Arrays.asList(
+                new OrderListItem(11, "A-11", "Widget", Money.ofMinor(150), 2),
+                new OrderListItem(12, "A-12", "Gadget", Money.ofMinor(300), 1)
+        ));
+
+        List<OrderModel> page = ordersDataService.getPage(10, 2);
+
+        assertEquals(2, page.size());
+        assertEquals(11, page.get(0).getId());
+        assertEquals("A-12", page.get(1).getOrder_number());
+        verify(ordersRepository, never()).findAll();
+    }
+
+    @Test
+    void getPage_ShouldLoadTheLinesOfTheWholePageInOneQuery() {
+        when(ordersRepository.findListPageAfter(0, 2)).thenReturn(Arrays.asList(
+                new OrderListItem(1, "A-1", "Widget", Money.ofMinor(150), 2),
+                new OrderListItem(2, "A-2", "Gadget", Money.ofMinor(300), 1)
+        ));
+        when(ordersRepository.findLines(Set.of(1, 2))).thenReturn(List.of(
+                new OrderLineItem(1, "Widget", Money.ofMinor(150), 2),
+                new OrderLineItem(1, "Cable", Money.ofMinor(99), 3),
+                new OrderLineItem(2, "Gadget", Money.ofMinor(300), 1)
+        ));
+
+        List<OrderModel> page = ordersDataService.getPage(0, 2);
+
+        assertEquals(List.of("Widget", "Cable"), page.get(0).getLines().stream().map(OrderLineModel::getProduct_name).toList());
+        assertEquals(Money.ofMinor(597), page.get(0).getTotal());
+        assertEquals(1, page.get(1).getLines().size());
+        verify(ordersRepository, times(1)).findLines(any());
+        verify(ordersRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void getPage_WhenPastLastRow_ReturnsEmptyList() {
+        when(ordersRepository.findListPageAfter(99, 50)).thenReturn(List.of());
+
+        assertTrue(ordersDataService.getPage(99, 50).isEmpty());
+    }
+
+    @Test
+    void getByOrderNumber_WhenMissing_ReturnsNull() {
+        when(ordersRepository.findByOrderNumber("NOPE")).thenReturn(Optional.empty());
+
+        assertNull(ordersDataService.getByOrderNumber("NOPE"));
+    }
+
+    @Test
+    void getAll_ShouldMapEveryLineWithoutEntities_AndRecordOrderCount() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/h2/schema.sql")
+                .addScript("db/mysql/005-orders-price-minor-units.sql")
+                .addScript("db/mysql/006-order-lines.sql")
+                .build();
+        try {
+            JdbcTemplate jdbc = new JdbcTemplate(database);
+            jdbc.update("INSERT INTO ORDERS (ORDER_NUMBER, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                    + "VALUES ('A-1', 'Widget', 150, 2), ('A-2', 'Gadget', 300, 1)");
+            jdbc.update("INSERT INTO ORDER_LINES (ORDER_ID, LINE_NO, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                    + "SELECT ID, 0, PRODUCT_NAME, PRICE_MINOR, QTY FROM ORDERS");
+            jdbc.update("INSERT INTO ORDER_LINES (ORDER_ID, LINE_NO, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                    + "SELECT ID, 1, 'Cable', 99, 3 FROM ORDERS WHERE ORDER_NUMBER = 'A-1'");
+            OrdersDataService service = new OrdersDataService(jdbc, 500, meterRegistry);
+
+            List<OrderModel> orders = new ArrayList<>();
+            service.getAll().forEach(orders::add);
+
+            assertEquals(List.of("A-1", "A-2"), orders.stream().map(OrderModel::getOrder_number).toList());
+            OrderModel first = orders.get(0);
+            assertEquals("Widget", first.getProduct_name());
+            assertEquals(Money.ofMinor(150), first.getPrice());
+            assertEquals(2, first.getQuantity());
+            assertEquals(List.of("Widget", "Cable"),
+                    first.getLines().stream().map(OrderLineModel::getProduct_name).toList());
+            // 1.50 x 2 + 0.99 x 3
+            assertEquals(Money.ofMinor(597), first.getTotal());
+            assertEquals(1, orders.get(1).getLines().size());
+            assertEquals(1, meterRegistry.get("orders.getall.rows").summary().count());
+            assertEquals(2.0, meterRegistry.get("orders.getall.rows").summary().totalAmount());
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    void update_WithoutVersion_ThrowsInsteadOfInserting() {
+        OrderModel unversioned = new OrderModel(7, "A-7", "Widget", Money.ofMinor(150), 2);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> ordersDataService.update(unversioned));
+        verify(ordersRepository, never()).save(any(OrderEntity.class));
+    }
+
+    @Test
+    void update_WhenConcurrentlyChanged_EvictsCachedOrder() {
+        Cache orders = cacheManager.getCache(CacheConfig.ORDERS_CACHE);
+        orders.put(7, new OrderModel(7, "A-7", "Widget", Money.ofMinor(150), 2, 0));
+        when(ordersRepository.save(any(OrderEntity.class)))
+                .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> ordersDataService.update(new OrderModel(7, "A-7", "Widget", Money.ofMinor(250), 2, 0)));
+        assertNull(orders.get(7));
+    }
+}
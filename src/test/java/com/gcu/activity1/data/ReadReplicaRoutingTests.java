@@ -0,0 +1,126 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gcu.activity1.config.ReadYourWrites;
+import com.gcu.activity1.config.ReadYourWritesFilter;
+import com.gcu.activity1.config.ReplicaRoutingDataSource;
+
+// Primary and replica are two separate H2 databases; each holds one marker order,
+// so the order number read back shows which one served the query.
+class ReadReplicaRoutingTests {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("PRIMARY");
+        replica = database("REPLICA");
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbc = new JdbcTemplate(routing);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.end();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica() {
+        assertEquals("REPLICA", readOnly.execute(status -> marker()));
+    }
+
+    @Test
+    void writesAndNonTransactionalReads_ShouldUsePrimary() {
+        readWrite.executeWithoutResult(status -> jdbc.update(
+                "INSERT INTO ORDERS (ORDER_NUMBER, PRODUCT_NAME, PRICE, QTY) VALUES ('NEW', 'Widget', 1.0, 1)"));
+
+        assertEquals(1, new JdbcTemplate(primary).queryForObject(
+                "SELECT COUNT(*) FROM ORDERS WHERE ORDER_NUMBER = 'NEW'", Integer.class));
+        assertEquals(0, new JdbcTemplate(replica).queryForObject(
+                "SELECT COUNT(*) FROM ORDERS WHERE ORDER_NUMBER = 'NEW'", Integer.class));
+        assertEquals("PRIMARY", marker());
+    }
+
+    @Test
+    void readAfterWriteInSameRequest_ShouldUsePrimary() {
+        ReadYourWrites.begin(false);
+        assertEquals("REPLICA", readOnly.execute(status -> marker()));
+
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE ORDERS SET QTY = 2"));
+
+        assertTrue(ReadYourWrites.hasWritten());
+        assertEquals("PRIMARY", readOnly.execute(status -> marker()));
+    }
+
+    @Test
+    void sessionThatJustWrote_ShouldReadFromPrimaryUntilWindowPasses() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(60_000);
+        MockHttpSession session = new MockHttpSession();
+        String[] seen = new String[1];
+
+        filter.doFilter(request(session), new MockHttpServletResponse(),
+                (req, res) -> readWrite.executeWithoutResult(status -> jdbc.update("UPDATE ORDERS SET QTY = 3")));
+        assertNotNull(session.getAttribute(ReadYourWritesFilter.LAST_WRITE_ATTRIBUTE));
+
+        filter.doFilter(request(session), new MockHttpServletResponse(),
+                (req, res) -> seen[0] = readOnly.execute(status -> marker()));
+        assertEquals("PRIMARY", seen[0]);
+
+        filter.doFilter(request(new MockHttpSession()), new MockHttpServletResponse(),
+                (req, res) -> seen[0] = readOnly.execute(status -> marker()));
+        assertEquals("REPLICA", seen[0]);
+
+        session.setAttribute(ReadYourWritesFilter.LAST_WRITE_ATTRIBUTE, System.currentTimeMillis() - 120_000);
+        filter.doFilter(request(session), new MockHttpServletResponse(),
+                (req, res) -> seen[0] = readOnly.execute(status -> marker()));
+        assertEquals("REPLICA", seen[0]);
+    }
+
+    private String marker() {
+        return jdbc.queryForObject("SELECT ORDER_NUMBER FROM ORDERS ORDER BY ID LIMIT 1", String.class);
+    }
+
+    private static MockHttpServletRequest request(MockHttpSession session) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders");
+        request.setSession(session);
+        return request;
+    }
+
+    private static EmbeddedDatabase database(String marker) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/h2/schema.sql")
+                .build();
+        new JdbcTemplate(database).update("INSERT INTO ORDERS (ORDER_NUMBER, PRODUCT_NAME, PRICE, QTY) "
+                + "VALUES (?, 'Widget', 1.0, 1)", marker);
+        return database;
+    }
+}
@@ -0,0 +1,127 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.gcu.activity1.config.SlowQueryLog;
+import com.gcu.activity1.config.TracingDataSource;
+import com.gcu.activity1.models.SlowQueryModel;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TracingDataSourceTests {
+
+    private EmbeddedDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/h2/schema.sql")
+                .build();
+        new JdbcTemplate(database).update("INSERT INTO ORDERS (ORDER_NUMBER, PRODUCT_NAME, PRICE, QTY) VALUES "
+                + "('A-1', 'Widget', 5.00, 1), ('A-2', 'Widget', 12.50, 4), ('A-3', 'Gadget', 12.50, 10)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void query_ShouldRecordStatementBindsAndRows() {
+        SlowQueryLog log = slowQueryLog(0, 10);
+        JdbcTemplate jdbc = new JdbcTemplate(new TracingDataSource(database, log));
+
+        jdbc.queryForList("SELECT ID FROM ORDERS WHERE PRODUCT_NAME = ? AND QTY > ?", Integer.class, "Widget", 0);
+
+        SlowQueryModel entry = log.getRecent().get(0);
+        assertEquals("SELECT ID FROM ORDERS WHERE PRODUCT_NAME = ? AND QTY > ?", entry.getSql());
+        assertEquals(2, entry.getBindCount());
+        assertEquals(2, entry.getRows());
+        assertNull(entry.getError());
+    }
+
+    @Test
+    void streamedQuery_ShouldRecordRowsWhenClosedEarly() {
+        SlowQueryLog log = slowQueryLog(0, 10);
+        JdbcTemplate jdbc = new JdbcTemplate(new TracingDataSource(database, log));
+
+        try (Stream<Integer> ids = jdbc.queryForStream("SELECT ID FROM ORDERS ORDER BY ID", (rs, n) -> rs.getInt(1))) {
+            assertEquals(1, ids.findFirst().orElseThrow());
+        }
+
+        assertEquals(1, log.getRecent().size());
+        assertEquals(1, log.getRecent().get(0).getRows());
+    }
+
+    @Test
+    void batchUpdate_ShouldRecordBatchSizeAndRowsChanged() {
+        SlowQueryLog log = slowQueryLog(0, 10);
+        JdbcTemplate jdbc = new JdbcTemplate(new TracingDataSource(database, log));
+
+        jdbc.batchUpdate("UPDATE ORDERS SET QTY = QTY + 1 WHERE PRODUCT_NAME = ?",
+                List.of(new Object[] { "Widget" }, new Object[] { "Gadget" }));
+
+        SlowQueryModel entry = log.getRecent().get(0);
+        assertEquals(2, entry.getBatchSize());
+        assertEquals(3, entry.getRows());
+        assertEquals(1, entry.getBindCount());
+    }
+
+    @Test
+    void failedStatement_ShouldBeRecordedWithError() {
+        SlowQueryLog log = slowQueryLog(0, 10);
+        JdbcTemplate jdbc = new JdbcTemplate(new TracingDataSource(database, log));
+
+        assertThrows(BadSqlGrammarException.class, () -> jdbc.queryForList("SELECT NOPE FROM ORDERS"));
+
+        SlowQueryModel entry = log.getRecent().get(0);
+        assertEquals(-1, entry.getRows());
+        assertNotNull(entry.getError());
+    }
+
+    @Test
+    void statementsUnderThreshold_ShouldNotBeKept() {
+        SlowQueryLog log = slowQueryLog(60_000, 10);
+        JdbcTemplate jdbc = new JdbcTemplate(new TracingDataSource(database, log));
+
+        jdbc.queryForList("SELECT ID FROM ORDERS", Integer.class);
+        jdbc.update("UPDATE ORDERS SET QTY = 1");
+
+        assertTrue(log.getRecent().isEmpty());
+        assertEquals(0, log.getTotalSlow());
+    }
+
+    @Test
+    void ringBuffer_ShouldKeepNewestEntriesFirst() {
+        SlowQueryLog log = slowQueryLog(0, 2);
+        JdbcTemplate jdbc = new JdbcTemplate(new TracingDataSource(database, log));
+
+        for (int id = 1; id <= 3; id++) {
+            jdbc.queryForList("SELECT ID FROM ORDERS WHERE ID = " + id, Integer.class);
+        }
+
+        List<SlowQueryModel> recent = log.getRecent();
+        assertEquals(2, recent.size());
+        assertEquals("SELECT ID FROM ORDERS WHERE ID = 3", recent.get(0).getSql());
+        assertEquals("SELECT ID FROM ORDERS WHERE ID = 2", recent.get(1).getSql());
+        assertEquals(3, log.getTotalSlow());
+    }
+
+    private SlowQueryLog slowQueryLog(long thresholdMillis, int capacity) {
+        return new SlowQueryLog(thresholdMillis, capacity, new SimpleMeterRegistry());
+    }
+}
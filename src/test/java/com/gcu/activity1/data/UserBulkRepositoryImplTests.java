@@ -0,0 +1,89 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.gcu.activity1.models.UserFilterModel;
+
+class UserBulkRepositoryImplTests {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbc;
+    private UserBulkRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/h2/schema.sql")
+                .addScript("db/mysql/003-orders-users-version.sql")
+                .build();
+        jdbc = new JdbcTemplate(database);
+        jdbc.update("INSERT INTO USERS (USERNAME, PASSWORD, ROLE, ENABLED) VALUES "
+                + "('admin', 'h', 'ROLE_ADMIN', TRUE), ('acme-ann', 'h', 'ROLE_USER', TRUE), "
+                + "('acme-bob', 'h', 'ROLE_ADMIN', TRUE), ('acme_cy', 'h', 'ROLE_USER', FALSE), "
+                + "('other', 'h', 'ROLE_USER', TRUE)");
+        repository = new UserBulkRepositoryImpl(new NamedParameterJdbcTemplate(database));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void setEnabled_ByPrefix_ShouldChangeOnlyMatchingUsersThatDiffer() {
+        int changed = repository.setEnabled(null, new UserFilterModel("acme-", null), "admin", false);
+
+        assertEquals(2, changed);
+        assertEquals(List.of("acme-ann", "acme-bob", "acme_cy"), usernames("ENABLED = FALSE"));
+        assertEquals(List.of("acme-ann", "acme-bob"), usernames("VERSION = 1"));
+    }
+
+    @Test
+    void setRole_ShouldCombineIdsAndFilter_AndNeverTouchTheActingAdmin() {
+        int changed = repository.setRole(List.of(1, 2, 3, 5), new UserFilterModel(null, "ROLE_ADMIN"),
+                "admin", "ROLE_USER");
+
+        assertEquals(1, changed);
+        assertEquals(List.of("admin"), usernames("ROLE = 'ROLE_ADMIN'"));
+    }
+
+    @Test
+    void deleteMatching_ByIds_ShouldDeleteInOneStatement() {
+        assertEquals(2, repository.deleteMatching(List.of(2, 5), new UserFilterModel(), "admin"));
+
+        assertEquals(List.of("acme-bob", "acme_cy", "admin"), usernames("1 = 1"));
+    }
+
+    @Test
+    void countMatching_ShouldCountWhatDeleteMatchingDeletes() {
+        UserFilterModel filter = new UserFilterModel("acme", "ROLE_USER");
+
+        assertEquals(2, repository.countMatching(List.of(1, 2, 4, 5), filter, "admin"));
+        assertEquals(5, jdbc.queryForObject("SELECT COUNT(*) FROM USERS", Integer.class));
+        assertEquals(2, repository.deleteMatching(List.of(1, 2, 4, 5), filter, "admin"));
+    }
+
+    @Test
+    void withNeitherIdsNorFilter_ShouldRefuseInsteadOfMatchingEveryone() {
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.deleteMatching(List.of(), new UserFilterModel(" ", ""), "admin"));
+        assertEquals(5, jdbc.queryForObject("SELECT COUNT(*) FROM USERS", Integer.class));
+    }
+
+    private List<String> usernames(String condition) {
+        return jdbc.queryForList("SELECT USERNAME FROM USERS WHERE " + condition + " ORDER BY USERNAME", String.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.gcu.activity1.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.gcu.activity1.models.UserFilterModel;
+
+class UserListRepositoryImplTests {
+
+    private EmbeddedDatabase database;
+    private UserListRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/h2/schema.sql")
+                .addScript("db/mysql/004-users-username-index.sql")
+                .build();
+        // ids 1..5; "bea" appears twice to exercise the tie-break on ID
+        new JdbcTemplate(database).update("INSERT INTO USERS (USERNAME, PASSWORD, ROLE, ENABLED) VALUES "
+                + "('dan', 'h', 'ROLE_USER', TRUE), ('bea', 'h', 'ROLE_ADMIN', TRUE), ('cal', 'h', 'ROLE_USER', FALSE), "
+                + "('bea', 'h', 'ROLE_USER', TRUE), ('al_x', 'h', 'ROLE_USER', TRUE)");
+        repository = new UserListRepositoryImpl(new NamedParameterJdbcTemplate(database));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void byId_ShouldPageFromCursorInEitherDirection() {
+        assertEquals(List.of(3, 4), ids(repository.findSummaries(null, "id", false, null, 2, 2)));
+        assertEquals(List.of(5, 4), ids(repository.findSummaries(null, "id", true, null, null, 2)));
+        assertEquals(List.of(3, 2), ids(repository.findSummaries(null, "id", true, null, 4, 2)));
+    }
+
+    @Test
+    void byUsername_ShouldWalkEqualNamesByIdAcrossPages() {
+        List<UserListItem> first = repository.findSummaries(new UserFilterModel(), "username", false, null, null, 2);
+        assertEquals(List.of(5, 2), ids(first));
+
+        UserListItem last = first.get(1);
+        assertEquals(List.of(4, 3), ids(repository.findSummaries(new UserFilterModel(), "username", false,
+                last.username(), last.id(), 2)));
+        assertEquals(List.of(2, 5), ids(repository.findSummaries(null, "username", true, "bea", 4, 5)));
+    }
+
+    @Test
+    void filters_ShouldMatchPrefixLiterallyAndRole() {
+        assertEquals(List.of(5), ids(repository.findSummaries(new UserFilterModel("al_", null), "id", false,
+                null, null, 10)));
+        assertEquals(List.of(), ids(repository.findSummaries(new UserFilterModel("a_", null), "id", false,
+                null, null, 10)));
+        assertEquals(List.of(4), ids(repository.findSummaries(new UserFilterModel("b", "ROLE_USER"), "username",
+                false, null, null, 10)));
+    }
+
+    private static List<Integer> ids(List<UserListItem> users) {
+        return users.stream().map(UserListItem::id).toList();
+    }
+}
@@ -2,6 +2,8 @@ package com.gcu.activity1.data;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -12,12 +14,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.gcu.activity1.config.CacheConfig;
+import com.gcu.activity1.models.UserFilterModel;
 import com.gcu.activity1.models.UserModel;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +37,9 @@ class UsersDataServiceTests {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.USERS_CACHE);
+
     @InjectMocks
     private UsersDataService usersDataService;
 
@@ -37,7 +48,7 @@ class UsersDataServiceTests {
 
     @BeforeEach
     void setUp() {
-        testUserEntity = new UserEntity(1, "testuser", "$2a$12$hashedpassword", "ROLE_USER", true);
+        testUserEntity = new UserEntity(1, "testuser", "$2a$12$hashedpassword", "ROLE_USER", true, 0);
         testUserModel = new UserModel(1, "testuser", "plainpassword", "ROLE_USER", true);
     }
 
@@ -159,27 +170,140 @@ class UsersDataServiceTests {
         String rawPassword = "newpassword";
         String hashedPassword = "$2a$12$newhashvaluehere";
 
-        when(usersRepository.findById(1)).thenReturn(Optional.of(testUserEntity));
         when(passwordEncoder.encode(rawPassword)).thenReturn(hashedPassword);
-        when(usersRepository.save(any(UserEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(usersRepository.updateProfileAndPassword(1, "testuser", hashedPassword, "ROLE_USER", true, 0))
+                .thenReturn(1);
 
-        UserModel updateModel = new UserModel(1, "testuser", rawPassword, "ROLE_USER", true);
-        usersDataService.update(updateModel);
+        UserModel updateModel = new UserModel(1, "testuser", rawPassword, "ROLE_USER", true, 0);
+        UserModel result = usersDataService.update(updateModel);
 
         verify(passwordEncoder).encode(rawPassword);
-        verify(usersRepository).save(argThat(entity -> entity.getPassword().equals(hashedPassword)));
+        assertEquals(1, result.getVersion());
     }
 
     @Test
     void update_ShouldNotRehashAlreadyHashedPassword() {
         String alreadyHashedPassword = "$2a$12$existinghashvalue";
 
-        when(usersRepository.findById(1)).thenReturn(Optional.of(testUserEntity));
-        when(usersRepository.save(any(UserEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(usersRepository.updateProfileAndPassword(1, "testuser", alreadyHashedPassword, "ROLE_USER", true, 0))
+                .thenReturn(1);
 
-        UserModel updateModel = new UserModel(1, "testuser", alreadyHashedPassword, "ROLE_USER", true);
+        UserModel updateModel = new UserModel(1, "testuser", alreadyHashedPassword, "ROLE_USER", true, 0);
         usersDataService.update(updateModel);
 
         verify(passwordEncoder, never()).encode(anyString());
     }
+
+    @Test
+    void update_WithBlankPassword_IsOneStatementThatKeepsStoredHash() {
+        when(usersRepository.updateProfile(1, "testuser", "ROLE_ADMIN", false, 0)).thenReturn(1);
+
+        usersDataService.update(new UserModel(1, "testuser", "", "ROLE_ADMIN", false, 0));
+
+        verify(usersRepository, never()).findById(anyInt());
+        verify(usersRepository, never()).save(any(UserEntity.class));
+        verify(usersRepository, never()).updateProfileAndPassword(anyInt(), anyString(), anyString(), anyString(),
+                anyBoolean(), anyInt());
+    }
+
+    @Test
+    void update_WhenNoRowHasTheFormsVersion_Throws() {
+        when(usersRepository.updateProfile(1, "testuser", "ROLE_USER", true, 2)).thenReturn(0);
+
+        UserModel staleModel = new UserModel(1, "testuser", null, "ROLE_USER", true, 2);
+        assertThrows(OptimisticLockingFailureException.class, () -> usersDataService.update(staleModel));
+    }
+
+    @Test
+    void update_WithoutVersion_ThrowsWithoutWriting() {
+        UserModel unversioned = new UserModel(1, "testuser", "newpassword", "ROLE_USER", true);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> usersDataService.update(unversioned));
+        verify(passwordEncoder, never()).encode(anyString());
+        verifyNoInteractions(usersRepository);
+    }
+
+    @Test
+    void loadUserByUsername_RepeatedLogins_QueryDatabaseOnce() {
+        when(usersRepository.findByUsername("testuser")).thenReturn(Optional.of(testUserEntity));
+
+        usersDataService.loadUserByUsername("testuser");
+        usersDataService.loadUserByUsername("testuser");
+        assertTrue(usersDataService.usernameExists("testuser"));
+
+        verify(usersRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    void update_ShouldEvictCachedUserSoChangesApplyOnNextLogin() {
+        when(usersRepository.findByUsername("testuser")).thenReturn(Optional.of(testUserEntity));
+        when(usersRepository.updateProfile(1, "renamed", "ROLE_USER", false, 0)).thenReturn(1);
+
+        usersDataService.loadUserByUsername("testuser");
+        usersDataService.update(new UserModel(1, "renamed", "", "ROLE_USER", false, 0));
+
+        when(usersRepository.findByUsername("testuser")).thenReturn(Optional.empty());
+        assertThrows(UsernameNotFoundException.class, () -> usersDataService.loadUserByUsername("testuser"));
+    }
+
+    @Test
+    void update_ShouldEvictOnlyTheKeysThatUserIsCachedUnder() {
+        UserEntity otherUser = new UserEntity(2, "other", "$2a$12$other", "ROLE_USER", true);
+        when(usersRepository.findByUsername("testuser")).thenReturn(Optional.of(testUserEntity));
+        when(usersRepository.findByUsername("TestUser")).thenReturn(Optional.of(testUserEntity));
+        when(usersRepository.findByUsername("other")).thenReturn(Optional.of(otherUser));
+        when(usersRepository.updateProfile(1, "renamed", "ROLE_USER", true, 0)).thenReturn(1);
+
+        usersDataService.loadUserByUsername("testuser");
+        usersDataService.loadUserByUsername("TestUser");
+        usersDataService.loadUserByUsername("other");
+        usersDataService.update(new UserModel(1, "renamed", "", "ROLE_USER", true, 0));
+        usersDataService.loadUserByUsername("testuser");
+        usersDataService.loadUserByUsername("TestUser");
+        usersDataService.loadUserByUsername("other");
+
+        verify(usersRepository, times(2)).findByUsername("testuser");
+        verify(usersRepository, times(2)).findByUsername("TestUser");
+        verify(usersRepository, times(1)).findByUsername("other");
+    }
+
+    @Test
+    void deleteById_ShouldEvictCachedUser() {
+        when(usersRepository.findByUsername("testuser")).thenReturn(Optional.of(testUserEntity));
+
+        usersDataService.loadUserByUsername("testuser");
+        usersDataService.deleteById(1);
+        usersDataService.loadUserByUsername("testuser");
+
+        verify(usersRepository, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    void create_ShouldEvictCachedMissForNewUsername() {
+        when(usersRepository.findByUsername("newuser")).thenReturn(Optional.empty());
+        when(passwordEncoder.encode("plainpassword")).thenReturn("$2a$12$hash");
+        when(usersRepository.save(any(UserEntity.class))).thenAnswer(invocation -> {
+            UserEntity entity = invocation.getArgument(0);
+            return new UserEntity(5, entity.getUsername(), entity.getPassword(), entity.getRole(), entity.isEnabled());
+        });
+
+        assertFalse(usersDataService.usernameExists("newuser"));
+        usersDataService.create(new UserModel(0, "newuser", "plainpassword", "ROLE_USER", true));
+        usersDataService.usernameExists("newuser");
+
+        verify(usersRepository, times(2)).findByUsername("newuser");
+    }
+
+    @Test
+    void bulkChange_ShouldClearCachedUsers() {
+        when(usersRepository.findByUsername("testuser")).thenReturn(Optional.of(testUserEntity));
+        UserFilterModel filter = new UserFilterModel("test", null);
+        when(usersRepository.setEnabled(null, filter, "admin", false)).thenReturn(1);
+
+        usersDataService.loadUserByUsername("testuser");
+        assertEquals(1, usersDataService.setEnabled(null, filter, "admin", false));
+        usersDataService.loadUserByUsername("testuser");
+
+        verify(usersRepository, times(2)).findByUsername("testuser");
+    }
 }
@@ -0,0 +1,86 @@
+package com.gcu.activity1.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Collects every request's latency per endpoint label; percentiles are exact (sorted samples).
+class LatencyRecorder {
+
+    private final Map<String, Samples> endpoints = new ConcurrentSkipListMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        endpoints.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, ok);
+    }
+
+    void reset() {
+        endpoints.clear();
+    }
+
+    // one line for a ramp step: every endpoint except the login, which is dominated by BCrypt
+    String summarize(int sessions, double elapsedSeconds, double p99TargetMillis) {
+        long[] all = endpoints.entrySet().stream()
+                .filter(e -> !e.getKey().endsWith("/processLogin"))
+                .flatMapToLong(e -> Arrays.stream(e.getValue().sorted()))
+                .sorted()
+                .toArray();
+        long errors = endpoints.values().stream().mapToLong(Samples::errors).sum();
+        double p99 = millis(percentile(all, 0.99));
+        return String.format("%8d %9.1f %9.2f %9.2f %7d %s", sessions, all.length / elapsedSeconds,
+                millis(percentile(all, 0.50)), p99, errors, p99 <= p99TargetMillis && errors == 0 ? "" : "degraded");
+    }
+
+    static String summaryHeader() {
+        return String.format("%8s %9s %9s %9s %7s", "sessions", "req/s", "p50 ms", "p99 ms", "errors");
+    }
+
+    void report(PrintStream out, double elapsedSeconds) {
+        out.printf("%-32s %9s %7s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        endpoints.forEach((endpoint, samples) -> {
+            long[] sorted = samples.sorted();
+            out.printf("%-32s %9d %7d %9.1f %9.2f %9.2f %9.2f%n", endpoint, sorted.length, samples.errors(),
+                    sorted.length / elapsedSeconds, millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        });
+    }
+
+    // nearest-rank
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long value, boolean ok) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.gcu.activity1.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gcu.activity1.Activity1Application;
+
+// End-to-end load test over HTTP. Boots the application with the "loadtest" profile (H2 in MySQL
+// mode, see application-loadtest.properties), seeds it, runs "users" concurrent sessions for the
+// warm-up and then the measured duration, and prints p50/p99 latency and req/s per endpoint.
+//
+//   mvn -Ploadtest test-compile exec:exec -Dloadtest.args="users=32 duration=60"
+//
+// Options (name=value): users (16), duration seconds (30), warmup seconds (10), orders to seed
+// (100000), loginEvery iterations (20), baseUrl to test a running server instead of booting one;
+// that server must already have accounts load1..load<users> with password loadtest123.
+// ramp=8,16,32,... measures each session count in turn and ends with one line per step, marking
+// steps whose p99 exceeds p99Target ms (500) or that had errors. profiles=virtual-threads adds
+// Spring profiles to the booted application, so the same ramp compares the two thread models:
+//   -Dloadtest.args="ramp=16,32,64,128,256"
+//   -Dloadtest.args="ramp=16,32,64,128,256 profiles=virtual-threads"
+public class LoadTestRunner {
+
+    static final String PASSWORD = "loadtest123";
+    // BCrypt(12) of PASSWORD, the same cost SecurityConfig uses, so logins pay the real hashing cost
+    private static final String PASSWORD_HASH = "$2a$12$dO.SOZmKl1DrNKdHlW9ZZ./3y6Tr2s.HWdKRkWqJuh8KIZNMKmjhC";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int orders = Integer.parseInt(options.getOrDefault("orders", "100000"));
+        int loginEvery = Integer.parseInt(options.getOrDefault("loginEvery", "20"));
+        double p99Target = Double.parseDouble(options.getOrDefault("p99Target", "500"));
+        String baseUrl = options.get("baseUrl");
+        // ramp=8,16,32 runs one measured step per session count; otherwise a single step of "users"
+        int[] steps = Arrays.stream(options.getOrDefault("ramp", options.getOrDefault("users", "16")).split(","))
+                .mapToInt(step -> Integer.parseInt(step.trim()))
+                .sorted()
+                .toArray();
+        int maxUsers = steps[steps.length - 1];
+
+        ConfigurableApplicationContext application = null;
+        if (baseUrl == null) {
+            // devtools would restart the application in a new class loader
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            List<String> profiles = new ArrayList<>(List.of("loadtest"));
+            if (options.containsKey("profiles")) {
+                profiles.addAll(List.of(options.get("profiles").split(",")));
+            }
+            application = new SpringApplicationBuilder(Activity1Application.class)
+                    .profiles(profiles.toArray(new String[0]))
+                    .run("--server.port=0");
+            seed(application.getBean(DataSource.class), orders, maxUsers);
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+
+        System.out.printf("Load test: %s, sessions %s, %ds warm-up and %ds measured per step%n",
+                baseUrl, Arrays.toString(steps), warmupSeconds, durationSeconds);
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean measuring = new AtomicBoolean(false);
+        AtomicLong orderSequence = new AtomicLong();
+        ExecutorService sessions = Executors.newCachedThreadPool();
+        List<String> summary = new ArrayList<>();
+        int started = 0;
+
+        for (int step : steps) {
+            for (; started < step; started++) {
+                sessions.submit(new LoadTestSession(baseUrl, "load" + (started + 1), PASSWORD, loginEvery, recorder,
+                        running, measuring, orderSequence));
+            }
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            recorder.reset();
+            measuring.set(true);
+            long start = System.nanoTime();
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            measuring.set(false);
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.printf("%n%d sessions%n", step);
+            recorder.report(System.out, elapsedSeconds);
+            summary.add(recorder.summarize(step, elapsedSeconds, p99Target));
+        }
+
+        running.set(false);
+        sessions.shutdown();
+        sessions.awaitTermination(1, TimeUnit.MINUTES);
+
+        if (steps.length > 1) {
+            System.out.printf("%nRamp (excluding login), degraded = p99 over %.0f ms or any errors%n", p99Target);
+            System.out.println(LatencyRecorder.summaryHeader());
+            summary.forEach(System.out::println);
+        }
+        if (application != null) {
+            application.close();
+        }
+    }
+
+    private static void seed(DataSource dataSource, int orders, int users) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO ORDERS (ORDER_NUMBER, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "SELECT 'ORD-' || X, 'Product-' || MOD(X, 1000), MOD(X, 10000), MOD(X, 10) + 1 "
+                + "FROM SYSTEM_RANGE(1, ?)", orders);
+        jdbc.update("INSERT INTO ORDER_LINES (ORDER_ID, LINE_NO, PRODUCT_NAME, PRICE_MINOR, QTY) "
+                + "SELECT ID, 0, PRODUCT_NAME, PRICE_MINOR, QTY FROM ORDERS");
+        jdbc.update("INSERT INTO USERS (USERNAME, PASSWORD, ROLE, ENABLED) "
+                + "SELECT 'load' || X, ?, 'ROLE_USER', TRUE FROM SYSTEM_RANGE(1, ?)", PASSWORD_HASH, users);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Expected name=value but got " + arg);
+            }
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,176 @@
+package com.gcu.activity1.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// One simulated browser: logs in through the form login with its own cookie jar, then loops over
+// list, create, look up, edit and delete. After loginEvery iterations it drops the session and
+// logs in again, so logins are part of the mix.
+class LoadTestSession implements Runnable {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final int loginEvery;
+    private final LatencyRecorder recorder;
+    private final AtomicBoolean running;
+    private final AtomicBoolean measuring;
+    private final AtomicLong orderSequence;
+
+    private HttpClient client;
+
+    LoadTestSession(String baseUrl, String username, String password, int loginEvery, LatencyRecorder recorder,
+            AtomicBoolean running, AtomicBoolean measuring, AtomicLong orderSequence) {
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.password = password;
+        this.loginEvery = loginEvery;
+        this.recorder = recorder;
+        this.running = running;
+        this.measuring = measuring;
+        this.orderSequence = orderSequence;
+    }
+
+    @Override
+    public void run() {
+        while (running.get()) {
+            client = HttpClient.newBuilder()
+                    .cookieHandler(new CookieManager())
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(TIMEOUT)
+                    .build();
+            try {
+                if (!login()) {
+                    TimeUnit.SECONDS.sleep(1);
+                    continue;
+                }
+                for (int i = 0; i < loginEvery && running.get(); i++) {
+                    iteration();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean login() throws InterruptedException {
+        String csrf = csrf(get("GET /login", "/login", 200));
+        if (csrf == null) {
+            return false;
+        }
+        // a failed login also redirects, but back to /login
+        return send("POST /processLogin", HttpRequest.newBuilder(uri("/processLogin"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form("username", username, "password", password, "_csrf", csrf))),
+                response -> response.statusCode() == 302
+                        && response.headers().firstValue("Location").orElse("").endsWith("/orders")) != null;
+    }
+
+    private void iteration() throws InterruptedException {
+        get("GET /orders", "/orders", 200);
+
+        String csrf = csrf(get("GET /orders/newOrder", "/orders/newOrder", 200));
+        if (csrf == null) {
+            return;
+        }
+        String orderNumber = "LT-" + orderSequence.incrementAndGet();
+        if (post("POST /orders/processNewOrder", "/orders/processNewOrder", form("order_number", orderNumber,
+                "product_name", "Load Test", "price", "9.99", "quantity", "1", "_csrf", csrf), 302) == null) {
+            return;
+        }
+
+        HttpResponse<String> created = send("GET /orders/byNumber/{n}", HttpRequest.newBuilder(uri("/orders/byNumber/" + orderNumber))
+                .header("Accept", "application/json").GET(), response -> response.statusCode() == 200);
+        Matcher id = created == null ? null : ID.matcher(created.body());
+        if (id == null || !id.find()) {
+            return;
+        }
+
+        csrf = csrf(get("GET /orders/editOrder/{id}", "/orders/editOrder/" + id.group(1), 200));
+        if (csrf == null) {
+            return;
+        }
+        post("POST /orders/processEditOrder", "/orders/processEditOrder", form("id", id.group(1),
+                "order_number", orderNumber, "product_name", "Load Test (edited)", "price", "19.99", "quantity", "2",
+                "_csrf", csrf), 302);
+
+        get("GET /orders/deleteOrder/{id}", "/orders/deleteOrder/" + id.group(1), 302);
+    }
+
+    private HttpResponse<String> get(String label, String path, int expectedStatus) throws InterruptedException {
+        return send(label, HttpRequest.newBuilder(uri(path)).GET(), response -> response.statusCode() == expectedStatus);
+    }
+
+    private HttpResponse<String> post(String label, String path, String form, int expectedStatus)
+            throws InterruptedException {
+        return send(label, HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)), response -> response.statusCode() == expectedStatus);
+    }
+
+    // returns null (and counts an error) on an unexpected response or an I/O failure
+    private HttpResponse<String> send(String label, HttpRequest.Builder request,
+            Predicate<HttpResponse<String>> expected) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.timeout(TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            record(label, start, false);
+            return null;
+        }
+        boolean ok = expected.test(response);
+        record(label, start, ok);
+        return ok ? response : null;
+    }
+
+    private void record(String label, long start, boolean ok) {
+        if (measuring.get()) {
+            recorder.record(label, System.nanoTime() - start, ok);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String csrf(HttpResponse<String> response) {
+        if (response == null) {
+            return null;
+        }
+        Matcher matcher = CSRF.matcher(response.body());
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static String form(String... pairs) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            fields.put(pairs[i], pairs[i + 1]);
+        }
+        return fields.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.gcu.activity1.models;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+class MoneyTests {
+
+    @Test
+    void valueOf_ShouldBeExact_AndRejectFractionsOfACent() {
+        assertEquals(1999, Money.valueOf(" 19.99 ").minorUnits());
+        assertEquals(500, Money.valueOf("5").minorUnits());
+        assertEquals(Money.valueOf("0.10"), Money.of(new BigDecimal("0.1")));
+        assertThrows(ArithmeticException.class, () -> Money.valueOf("0.105"));
+        assertThrows(NumberFormatException.class, () -> Money.valueOf("abc"));
+    }
+
+    @Test
+    void toString_ShouldBePlainDecimal() {
+        assertEquals("1234.50", Money.ofMinor(123450).toString());
+        assertEquals("0.05", Money.ofMinor(5).toString());
+        assertEquals("-0.05", Money.ofMinor(-5).toString());
+        assertEquals("-1.00", Money.ofMinor(-100).toString());
+        assertEquals(new BigDecimal("1234.50"), Money.ofMinor(123450).amount());
+    }
+
+    @Test
+    void arithmetic_ShouldBeExact_AndFailOnOverflow() {
+        // 0.1 + 0.2 is exactly 0.3, unlike with doubles
+        assertEquals(Money.valueOf("0.30"), Money.valueOf("0.10").plus(Money.valueOf("0.20")));
+        assertEquals(Money.valueOf("29.97"), Money.valueOf("9.99").times(3));
+        assertEquals(Money.ofMinor(3), Money.ofMinor(10).dividedBy(4));
+        assertEquals(Money.ofMinor(-3), Money.ofMinor(-10).dividedBy(4));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).times(2));
+    }
+
+    @Test
+    void positiveOrZero_ShouldApplyToMoney() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        OrderModel order = new OrderModel(0, "M-1", "Widget", Money.ofMinor(-1), 1);
+
+        assertEquals("Price cannot be negative", validator.validate(order).iterator().next().getMessage());
+        order.setPrice(Money.ZERO);
+        assertTrue(validator.validate(order).isEmpty());
+    }
+}
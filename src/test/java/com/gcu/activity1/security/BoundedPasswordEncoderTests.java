@@ -0,0 +1,66 @@
+package com.gcu.activity1.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.gcu.activity1.config.BoundedPasswordEncoder;
+import com.gcu.activity1.config.HashingUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedPasswordEncoderTests {
+
+    @Test
+    void encode_ShouldProduceHashThatMatches() {
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 4, 5000,
+                new SimpleMeterRegistry())) {
+            String hash = encoder.encode("password123");
+
+            assertTrue(encoder.matches("password123", hash));
+            assertEquals(1, encoder.getHashCount());
+        }
+    }
+
+    @Test
+    void encode_WhenPoolAndQueueAreFull_ShouldFailFast() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 0, 5000, new SimpleMeterRegistry())) {
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            HashingUnavailableException ex = assertThrows(HashingUnavailableException.class,
+                    () -> encoder.encode("b"));
+            assertTrue(ex.getRetryAfterSeconds() > 0);
+            assertEquals(1, encoder.getRejectedCount());
+
+            release.countDown();
+            assertEquals("hash", first.get(5, TimeUnit.SECONDS));
+        }
+    }
+}
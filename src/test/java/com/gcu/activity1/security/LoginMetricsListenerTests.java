@@ -0,0 +1,31 @@
+package com.gcu.activity1.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.authentication.event.InteractiveAuthenticationSuccessEvent;
+
+import com.gcu.activity1.config.LoginMetricsListener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginMetricsListenerTests {
+
+    @Test
+    void shouldCountLoginsByOutcomeAndReason() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LoginMetricsListener listener = new LoginMetricsListener(registry);
+        UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken("user", "secret");
+
+        listener.onSuccess(new InteractiveAuthenticationSuccessEvent(token, LoginMetricsListenerTests.class));
+        listener.onFailure(new AuthenticationFailureBadCredentialsEvent(token, new BadCredentialsException("bad")));
+        listener.onFailure(new AuthenticationFailureBadCredentialsEvent(token, new BadCredentialsException("bad")));
+
+        assertEquals(1.0, registry.get("security.logins").tag("outcome", "success").counter().count());
+        assertEquals(2.0, registry.get("security.logins").tags("outcome", "failure", "reason", "BadCredentials")
+                .counter().count());
+    }
+}
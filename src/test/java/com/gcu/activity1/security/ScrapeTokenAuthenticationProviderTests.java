@@ -0,0 +1,48 @@
+package com.gcu.activity1.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import com.gcu.activity1.config.ScrapeTokenAuthenticationProvider;
+
+class ScrapeTokenAuthenticationProviderTests {
+
+    private final ScrapeTokenAuthenticationProvider provider =
+            new ScrapeTokenAuthenticationProvider("prometheus", "s3cr3t-token");
+
+    @Test
+    void scraperWithTheToken_IsAuthenticatedForMetricsOnly() {
+        Authentication result = provider.authenticate(new UsernamePasswordAuthenticationToken("prometheus", "s3cr3t-token"));
+
+        assertTrue(result.isAuthenticated());
+        assertEquals("prometheus", result.getName());
+        assertNull(result.getCredentials());
+        assertEquals(List.of("ROLE_METRICS"),
+                result.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void scraperWithAWrongToken_IsRejectedWithoutFallingThrough() {
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("prometheus", "guess")));
+    }
+
+    @Test
+    void otherUsers_AreLeftToTheUserAccounts() {
+        assertNull(provider.authenticate(new UsernamePasswordAuthenticationToken("admin", "s3cr3t-token")));
+    }
+
+    @Test
+    void blankToken_DisablesTheAccount() {
+        ScrapeTokenAuthenticationProvider disabled = new ScrapeTokenAuthenticationProvider("prometheus", " ");
+
+        assertNull(disabled.authenticate(new UsernamePasswordAuthenticationToken("prometheus", "")));
+    }
+}
@@ -0,0 +1,15 @@
+-- H2 (MODE=MySQL) copy of the production tables, used by the benchmarks
+CREATE TABLE IF NOT EXISTS ORDERS (
+    ID INT AUTO_INCREMENT PRIMARY KEY,
+    ORDER_NUMBER VARCHAR(50),
+    PRODUCT_NAME VARCHAR(255),
+    PRICE DOUBLE,
+    QTY INT
+);
+CREATE TABLE IF NOT EXISTS USERS (
+    ID INT AUTO_INCREMENT PRIMARY KEY,
+    USERNAME VARCHAR(50) NOT NULL,
+    PASSWORD VARCHAR(100) NOT NULL,
+    ROLE VARCHAR(20) NOT NULL,
+    ENABLED BOOLEAN NOT NULL
+);